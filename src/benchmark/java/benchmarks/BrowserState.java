@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import pages.HomePage;
+import utils.Config;
+import utils.Driver;
+import utils.Helpers;
+import utils.LocalStorefront;
+
+/**
+ * One headless browser per benchmark thread, parked on the local storefront's home page
+ * with the product grid loaded. Driver is thread-bound, so the state is too.
+ */
+@State(Scope.Thread)
+public class BrowserState {
+
+    public WebDriver driver;
+    public Helpers helpers;
+    public HomePage homePage;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Config.override("browser.profile", "fast");
+        Config.override("metrics.enabled", "false");
+        LocalStorefront.start();
+
+        driver = Driver.getDriver();
+        helpers = new Helpers(driver, Config.get());
+        homePage = new HomePage(Config.get());
+        homePage.open();
+        homePage.readVisibleProducts(); // waits for the first grid render
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        Driver.quitDriver();
+        LocalStorefront.stop();
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import pages.HomePage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Helpers primitives every step goes through, and of building a page object.
+ * The click target is the inert "CATEGORIES" header so repeated clicks do not change the page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HelpersBenchmark {
+
+    private WebElement inertLink;
+    private WebElement logo;
+
+    @Setup(Level.Trial)
+    public void locate(BrowserState browser) {
+        inertLink = browser.driver.findElement(By.id("cat"));
+        logo = browser.driver.findElement(By.id("nava"));
+    }
+
+    @Benchmark
+    public void click(BrowserState browser) {
+        browser.helpers.click(inertLink);
+    }
+
+    @Benchmark
+    public void safeClick(BrowserState browser) {
+        browser.helpers.safeClick(inertLink);
+    }
+
+    @Benchmark
+    public boolean isDisplayed(BrowserState browser) {
+        return browser.helpers.isDisplayed(logo);
+    }
+
+    @Benchmark
+    public HomePage constructHomePage(BrowserState browser) {
+        return new HomePage();
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import pages.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the 9-card product grid: the single-script bulk read used by the page objects
+ * versus the per-element strategy ProductSteps used before (refetch per index, isDisplayed, getText).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductGridBenchmark {
+
+    private static final By NAMES = By.cssSelector(".col-lg-9 h4");
+    private static final By PRICES = By.cssSelector(".col-lg-9 h5");
+
+    @Benchmark
+    public List<String> visibleProductNames(BrowserState browser) {
+        return browser.homePage.getVisibleProductNames();
+    }
+
+    @Benchmark
+    public List<Product> tableReadJsBatch(BrowserState browser) {
+        return browser.homePage.readVisibleProducts();
+    }
+
+    @Benchmark
+    public List<Product> tableReadPerElement(BrowserState browser) {
+        List<String> names = readColumn(browser, NAMES);
+        List<String> prices = readColumn(browser, PRICES);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < Math.min(names.size(), prices.size()); i++) {
+            products.add(new Product(names.get(i), prices.get(i)));
+        }
+        return products;
+    }
+
+    private static List<String> readColumn(BrowserState browser, By locator) {
+        List<String> values = new ArrayList<>();
+        int count = browser.driver.findElements(locator).size();
+        for (int i = 0; i < count; i++) {
+            try {
+                WebElement e = browser.driver.findElements(locator).get(i);
+                if (!browser.helpers.isDisplayed(e)) continue;
+                values.add(browser.helpers.waitAndGetText(e).trim());
+            } catch (StaleElementReferenceException ignored) {
+            }
+        }
+        return values;
+    }
+}
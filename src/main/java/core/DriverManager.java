@@ -17,4 +17,8 @@ public final class DriverManager {
     public static void quitDriver() {
         Driver.quitDriver();
     }
+
+    public static void releaseDriver() {
+        Driver.releaseDriver();
+    }
 }
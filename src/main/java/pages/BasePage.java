@@ -1,31 +1,68 @@
 package pages;
 
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
+import utils.Config;
 import utils.Driver;
 import utils.Helpers;
+import utils.Metrics;
+import utils.PageState;
+
+import java.util.List;
 
 /**
- * Base page initializes driver, helpers and PageFactory.
+ * Base page initializes driver, helpers and the page's element fields (see {@link PageElements}).
  */
 public abstract class BasePage {
 
     protected final WebDriver driver;
+    protected final Config config;
     protected final Helpers elementHelper;
 
     public BasePage() {
+        this(Config.get());
+    }
+
+    public BasePage(Config config) {
         this.driver = Driver.getDriver();
-        this.elementHelper = new Helpers(driver); // uses convenience constructor (default timeout)
-        PageFactory.initElements(driver, this);
+        this.config = config;
+        this.elementHelper = new Helpers(driver, config);
+        PageElements.init(driver, this);
     }
 
     protected void openUrl(String url) {
         driver.get(url);
         try {
             elementHelper.waitForPageLoad();
-        } catch (Exception ignored) {
+        } catch (TimeoutException ignored) {
+            // slow subresources: the page's own waits decide whether what they need is there
+        }
+    }
 
+    /**
+     * Show the page at {@code urls.get(0)} (the other entries are equivalent spellings of it), reusing the
+     * current document when it is that page and still as loaded ({@link PageState}); otherwise navigate.
+     * Counted as {@code page.open.soft} or {@code page.open.reload.<reason>}. page.softReset=false always navigates.
+     */
+    protected void openOrRestore(List<String> urls) {
+        if (config.isPageSoftReset()) {
+            String state = PageState.restore(driver, urls);
+            if (PageState.CLOSING.equals(state)) {
+                try {
+                    elementHelper.dom().waitForModalHidden();
+                    state = PageState.CLEAN;
+                } catch (TimeoutException e) {
+                    state = "modal";
+                }
+            }
+            if (PageState.CLEAN.equals(state)) {
+                Metrics.increment("page.open.soft");
+                return;
+            }
+            Metrics.increment("page.open.reload." + state);
         }
+        openUrl(urls.get(0));
+        PageState.stamp(driver);
     }
 
     public WebDriver getDriver() {
@@ -0,0 +1,104 @@
+package pages;
+
+import java.util.Map;
+
+/**
+ * One carousel transition as recorded in the page from Bootstrap's slide/slid events:
+ * the slide indices it went between, what started it and when (page clock, epoch ms).
+ */
+public final class CarouselSlide {
+
+    private final int from;
+    private final int to;
+    private final int count;
+    private final String direction;
+    private final boolean byClick;
+    private final long startedAt;
+    private final long finishedAt;
+
+    private CarouselSlide(int from, int to, int count, String direction, boolean byClick,
+                          long startedAt, long finishedAt) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+        this.direction = direction;
+        this.byClick = byClick;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    /** From the tracker's record ({from, to, count, direction, cause, started, finished}). */
+    static CarouselSlide from(Map<?, ?> record) {
+        Object finished = record.get("finished");
+        return new CarouselSlide(
+                number(record.get("from")), number(record.get("to")), number(record.get("count")),
+                String.valueOf(record.get("direction")), "click".equals(record.get("cause")),
+                millis(record.get("started")), finished == null ? -1 : millis(finished));
+    }
+
+    private static int number(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : -1;
+    }
+
+    private static long millis(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    /** Number of slides in the carousel. */
+    public int getCount() {
+        return count;
+    }
+
+    /** Bootstrap's direction: "left" for next, "right" for previous. */
+    public String getDirection() {
+        return direction;
+    }
+
+    /** True if a click on a carousel control started it, false for auto-advance. */
+    public boolean isByClick() {
+        return byClick;
+    }
+
+    /** True if it moved to the slide before {@link #getFrom()} (wrapping around). */
+    public boolean isToPrevious() {
+        return count > 1 && to == (from - 1 + count) % count;
+    }
+
+    /** True if it moved to the slide after {@link #getFrom()} (wrapping around). */
+    public boolean isToNext() {
+        return count > 1 && to == (from + 1) % count;
+    }
+
+    /** When the transition started, epoch ms on the page clock. */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /** When the transition finished, epoch ms on the page clock, or -1 while it is still sliding. */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public boolean isFinished() {
+        return finishedAt >= 0;
+    }
+
+    /** Transition time in ms, or -1 while it is still sliding. */
+    public long getDurationMs() {
+        return isFinished() ? finishedAt - startedAt : -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CarouselSlide{%d -> %d of %d, %s, %s, %dms}",
+                from, to, count, direction, byClick ? "click" : "auto", getDurationMs());
+    }
+}
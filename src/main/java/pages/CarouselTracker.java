@@ -0,0 +1,141 @@
+package pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import utils.Helpers;
+import utils.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a Bootstrap carousel's transitions inside the page.
+ * Subscribes to slide.bs.carousel / slid.bs.carousel (through jQuery on the live site, as native events on
+ * the local stub) and keeps every transition with its indices, timestamps and cause. A slide counts as caused
+ * by a click when it starts while the click on a carousel control is being dispatched, which is when Bootstrap
+ * starts it; an auto-advance firing around the click is therefore never mistaken for it.
+ */
+final class CarouselTracker {
+
+    private static final String INSTALL =
+            "var c = document.querySelector(arguments[0]);"
+                    + "if (!c) return false;"
+                    + "if (c.__dwCarousel) return true;"
+                    + "var t = c.__dwCarousel = {slides: [], clicking: false, clickedSlide: null};"
+                    + "var field = function (e, name) { return e[name] !== undefined ? e[name] : (e.detail || {})[name]; };"
+                    + "var onSlide = function (e) {"
+                    + "  t.slides.push({from: field(e, 'from'), to: field(e, 'to'), direction: field(e, 'direction'),"
+                    + "    count: c.querySelectorAll('.carousel-item').length, cause: t.clicking ? 'click' : 'auto',"
+                    + "    started: Date.now(), finished: null});"
+                    + "  if (t.clicking) t.clickedSlide = t.slides.length - 1;"
+                    + "};"
+                    + "var onSlid = function () {"
+                    + "  for (var i = t.slides.length - 1; i >= 0; i--) {"
+                    + "    if (t.slides[i].finished === null) { t.slides[i].finished = Date.now(); break; }"
+                    + "  }"
+                    + "  document.dispatchEvent(new Event('dw:settled'));"
+                    + "};"
+                    + "if (window.jQuery) {"
+                    + "  jQuery(c).on('slide.bs.carousel', onSlide).on('slid.bs.carousel', onSlid);"
+                    + "} else {"
+                    + "  c.addEventListener('slide.bs.carousel', onSlide);"
+                    + "  c.addEventListener('slid.bs.carousel', onSlid);"
+                    + "}"
+                    // capture on window runs before any page handler, bubble on window after all of them
+                    + "window.addEventListener('click', function (e) {"
+                    + "  if (!c.contains(e.target) || !e.target.closest('[data-slide], [data-slide-to]')) return;"
+                    + "  t.clicking = true; t.clickedSlide = null;"
+                    + "  setTimeout(function () { t.clicking = false; }, 0);"
+                    + "}, true);"
+                    + "window.addEventListener('click', function () { t.clicking = false; }, false);"
+                    + "return true;";
+
+    private static final String CLICKED_SLIDE =
+            "var t = document.querySelector(arguments[0]).__dwCarousel;"
+                    + "return t.clickedSlide === null ? null : t.clickedSlide;";
+
+    private static final String SLIDE =
+            "return document.querySelector(arguments[0]).__dwCarousel.slides[arguments[1]];";
+
+    private static final String HISTORY =
+            "var c = document.querySelector(arguments[0]);"
+                    + "return c && c.__dwCarousel ? c.__dwCarousel.slides : [];";
+
+    private static final String FINISHED =
+            "(function (c) { var s = c && c.__dwCarousel && c.__dwCarousel.slides[args.id];"
+                    + "  return !!s && s.finished !== null; })(document.querySelector(args.css))";
+
+    private static final String ACTIVE_INDEX =
+            "var items = document.querySelectorAll(arguments[0] + ' .carousel-item');"
+                    + "for (var i = 0; i < items.length; i++) { if (items[i].classList.contains('active')) return i; }"
+                    + "return -1;";
+
+    /** A click that lands while an auto-advance is sliding is ignored by Bootstrap; it is retried this often. */
+    private static final int CLICK_ATTEMPTS = 3;
+
+    private final WebDriver driver;
+    private final Helpers helpers;
+    private final String css;
+
+    CarouselTracker(WebDriver driver, Helpers helpers, String css) {
+        this.driver = driver;
+        this.helpers = helpers;
+        this.css = css;
+    }
+
+    /** Start recording (idempotent for the current document). */
+    void install() {
+        js(INSTALL, css);
+    }
+
+    /**
+     * Click a carousel control and return the transition that click started, once it has finished.
+     * Waits for the carousel to be idle first; a click Bootstrap ignored anyway is repeated.
+     *
+     * @throws TimeoutException if no click started a transition, or the transition never finished
+     */
+    CarouselSlide clickAndAwait(WebElement control) {
+        long start = System.nanoTime();
+        try {
+            for (int attempt = 1; attempt <= CLICK_ATTEMPTS; attempt++) {
+                helpers.dom().waitForCarouselIdle(css);
+                install();
+                helpers.click(control);
+                Object id = js(CLICKED_SLIDE, css);
+                if (id instanceof Number) {
+                    helpers.dom().until(FINISHED, Map.of("css", css, "id", id));
+                    return CarouselSlide.from((Map<?, ?>) js(SLIDE, css, id));
+                }
+                Metrics.increment("carousel.clickIgnored");
+            }
+            throw new TimeoutException("Carousel " + css + " did not slide after " + CLICK_ATTEMPTS + " clicks");
+        } finally {
+            Metrics.record("carousel.slide", System.nanoTime() - start);
+        }
+    }
+
+    /** Every transition recorded since {@link #install()}, oldest first. */
+    List<CarouselSlide> history() {
+        List<CarouselSlide> slides = new ArrayList<>();
+        Object records = js(HISTORY, css);
+        if (records instanceof List) {
+            for (Object record : (List<?>) records) {
+                slides.add(CarouselSlide.from((Map<?, ?>) record));
+            }
+        }
+        return slides;
+    }
+
+    /** Index of the active slide, or -1 if the carousel is not on the page. */
+    int activeIndex() {
+        Object index = js(ACTIVE_INDEX, css);
+        return index instanceof Number ? ((Number) index).intValue() : -1;
+    }
+
+    private Object js(String script, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+}
@@ -1,18 +1,47 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.Config;
+import utils.Expect;
+import utils.Storefront;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 
 public class HomePage extends BasePage {
 
-    private static final String HOME_URL = "https://www.demoblaze.com";
+    private static final String CAROUSEL_CSS = "#carouselExampleIndicators";
+    private static final String PRODUCTS_CSS = "#tbodyid";
+
+    /** API calls (URL regex) that feed the product grid. */
+    private static final String CATEGORY_REQUESTS = "/bycat";
+    private static final String PAGE_REQUESTS = "/pagination|/entries";
+
+    /**
+     * Reads name, price and link of every visible product card in one round-trip.
+     * Cards hidden by the grid (display:none / detached) are skipped, same as the per-element isDisplayed check.
+     */
+    private static final String READ_PRODUCTS_SCRIPT =
+            "var cards = document.querySelectorAll('#tbodyid .card');"
+                    + "var out = [];"
+                    + "for (var i = 0; i < cards.length; i++) {"
+                    + "  var card = cards[i];"
+                    + "  if (!card.getClientRects().length) continue;"
+                    + "  var title = card.querySelector('.card-title a') || card.querySelector('h4');"
+                    + "  if (!title) continue;"
+                    + "  var price = card.querySelector('h5');"
+                    + "  var link = title.href || (card.querySelector('a[href]') || {}).href || '';"
+                    + "  out.push({name: title.innerText, price: price ? price.innerText : '', link: link});"
+                    + "}"
+                    + "return out;";
 
     // ===== Header buttons as KEYS (not exact visible text) =====
     private static final List<String> MAIN_HEADER_KEYS = List.of(
@@ -69,9 +98,12 @@ public class HomePage extends BasePage {
     @FindBy(css = "#carouselExampleIndicators .carousel-control-next")
     private WebElement carouselNextIcon;
 
+    @Uncached // .active moves between slides while the first match stays attached
     @FindBy(css = "#carouselExampleIndicators .carousel-item.active img")
     private WebElement activeCarouselImage;
 
+    private CarouselTracker carouselTracker;
+
     // ===== Products grid & pagination =====
     @FindBy(id = "tbodyid")
     private WebElement productsContainer;
@@ -99,16 +131,22 @@ public class HomePage extends BasePage {
         super();
     }
 
+    public HomePage(Config config) {
+        super(config);
+    }
+
     // =========================
     // Navigation
     // =========================
 
+    /** Show the home page; a home page still as loaded (e.g. from the previous scenario) is reused without a reload. */
     public void open() {
-        openUrl(HOME_URL);
+        String base = Storefront.baseUrl();
+        openOrRestore(List.of(base, base + "/", base + "/index.html"));
     }
 
     public boolean isLogoVisible() {
-        return elementHelper.isDisplayed(logo);
+        return elementHelper.isDisplayed(logo, Expect.PRESENT);
     }
 
     private String resolveHeaderText(String key) {
@@ -176,18 +214,17 @@ public class HomePage extends BasePage {
         }
     }
 
-    // Categories
+    // Categories (each returns once the category's products are loaded and rendered)
     public void clickPhonesCategory() {
-
-        elementHelper.click(phonesCategory);
+        clickAndAwaitGrid(phonesCategory, CATEGORY_REQUESTS);
     }
 
     public void clickLaptopsCategory() {
-        elementHelper.click(laptopsCategory);
+        clickAndAwaitGrid(laptopsCategory, CATEGORY_REQUESTS);
     }
 
     public void clickMonitorsCategory() {
-        elementHelper.click(monitorsCategory);
+        clickAndAwaitGrid(monitorsCategory, CATEGORY_REQUESTS);
     }
 
     // Known products per category to assert
@@ -195,21 +232,21 @@ public class HomePage extends BasePage {
         By phoneProduct = By.xpath(
                 "//a[contains(@class,'hrefch') and normalize-space()='Samsung galaxy s6']"
         );
-        return elementHelper.elementExists(phoneProduct);
+        return elementHelper.elementExists(phoneProduct, Expect.PRESENT);
     }
 
     public boolean isLaptopCategoryProductsVisible() {
         By laptopProduct = By.xpath(
                 "//a[contains(@class,'hrefch') and normalize-space()='Sony vaio i5']"
         );
-        return elementHelper.elementExists(laptopProduct);
+        return elementHelper.elementExists(laptopProduct, Expect.PRESENT);
     }
 
     public boolean isMonitorCategoryProductsVisible() {
         By monitorProduct = By.xpath(
                 "//a[contains(@class,'hrefch') and normalize-space()='Apple monitor 24']"
         );
-        return elementHelper.elementExists(monitorProduct);
+        return elementHelper.elementExists(monitorProduct, Expect.PRESENT);
     }
 
 
@@ -255,10 +292,41 @@ public class HomePage extends BasePage {
         return activeCarouselImage.getAttribute("src");
     }
 
+    /** Index of the active slide once the carousel is idle; from here on its transitions are recorded. */
+    public int getSettledCarouselIndex() {
+        elementHelper.dom().waitForCarouselIdle(CAROUSEL_CSS);
+        carouselTracker().install();
+        return carouselTracker().activeIndex();
+    }
+
+    /** Click Previous and return the transition that click caused, as soon as it has finished. */
+    public CarouselSlide clickCarouselPreviousAndAwait() {
+        return carouselTracker().clickAndAwait(carouselPrevIcon);
+    }
+
+    /** Click Next and return the transition that click caused, as soon as it has finished. */
+    public CarouselSlide clickCarouselNextAndAwait() {
+        return carouselTracker().clickAndAwait(carouselNextIcon);
+    }
+
+    /** All transitions (clicked and auto-advance) recorded on this page so far, oldest first. */
+    public List<CarouselSlide> getCarouselHistory() {
+        return carouselTracker().history();
+    }
+
+    private CarouselTracker carouselTracker() {
+        if (carouselTracker == null) carouselTracker = new CarouselTracker(driver, elementHelper, CAROUSEL_CSS);
+        return carouselTracker;
+    }
+
+    /** @deprecated returns before the slide; use {@link #clickCarouselPreviousAndAwait()} */
+    @Deprecated
     public void clickCarouselPrevious() {
         elementHelper.click(carouselPrevIcon);
     }
 
+    /** @deprecated returns before the slide; use {@link #clickCarouselNextAndAwait()} */
+    @Deprecated
     public void clickCarouselNext() {
         elementHelper.click(carouselNextIcon);
     }
@@ -279,27 +347,64 @@ public class HomePage extends BasePage {
 
 
     public List<String> getVisibleProductNames() {
-        return getVisibleProductElements()
+        return readVisibleProducts()
                 .stream()
-                .map(WebElement::getText)
+                .map(Product::getName)
                 .filter(name -> !name.isEmpty())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Waits for the grid once, then pulls every visible card's name, price and link
+     * with a single executeScript call instead of locating and reading each element.
+     * Cards are not waited for: the load or click that filled the grid already was, so a grid
+     * still empty once the page settles yields an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Product> readVisibleProducts() {
+        elementHelper.waitUntilVisible(productsContainer);
+        if (!elementHelper.elementExists(By.cssSelector("#tbodyid .hrefch"), Expect.ABSENT)) {
+            return List.of();
+        }
+
+        Object raw = ((JavascriptExecutor) getDriver()).executeScript(READ_PRODUCTS_SCRIPT);
+
+        List<Product> products = new ArrayList<>();
+        if (raw instanceof List) {
+            for (Object item : (List<Object>) raw) {
+                Map<String, Object> card = (Map<String, Object>) item;
+                products.add(new Product(
+                        String.valueOf(card.get("name")),
+                        String.valueOf(card.get("price")),
+                        String.valueOf(card.get("link"))));
+            }
+        }
+        return products;
+    }
+
     // =========================
     // Pagination buttons
     // =========================
 
     public void clickNextPage() {
         elementHelper.scrollIntoView(nextButton);
-        elementHelper.click(nextButton);
-        elementHelper.waitUntilVisible(productsContainer);
+        clickAndAwaitGrid(nextButton, PAGE_REQUESTS);
     }
 
     public void clickPreviousPage() {
         elementHelper.scrollIntoView(prevButton);
-        elementHelper.click(prevButton);
-        elementHelper.waitUntilVisible(productsContainer);
+        clickAndAwaitGrid(prevButton, PAGE_REQUESTS);
+    }
+
+    /**
+     * Click something that reloads the grid over AJAX and wait until the matching request has
+     * completed and the grid's old cards were replaced by the response's.
+     */
+    private void clickAndAwaitGrid(WebElement trigger, String requestPattern) {
+        long mark = elementHelper.network().mark();
+        elementHelper.dom().markChildren(PRODUCTS_CSS);
+        elementHelper.click(trigger);
+        elementHelper.network().waitForRequestsAndRender(mark, requestPattern, PRODUCTS_CSS);
     }
 
     // Contact form actions
@@ -0,0 +1,56 @@
+package pages;
+
+/**
+ * What a login or signup submit led to first: an alert (with its text), the welcome text,
+ * the modal closing without either, or nothing within the timeout.
+ */
+public final class LoginOutcome {
+
+    public enum Kind { ALERT, WELCOME, MODAL_CLOSED, NONE }
+
+    private static final LoginOutcome MODAL_CLOSED = new LoginOutcome(Kind.MODAL_CLOSED, null);
+    private static final LoginOutcome NONE = new LoginOutcome(Kind.NONE, null);
+
+    private final Kind kind;
+    private final String text;
+
+    private LoginOutcome(Kind kind, String text) {
+        this.kind = kind;
+        this.text = text;
+    }
+
+    static LoginOutcome alert(String text) {
+        return new LoginOutcome(Kind.ALERT, text == null ? "" : text);
+    }
+
+    static LoginOutcome welcome(String text) {
+        return new LoginOutcome(Kind.WELCOME, text);
+    }
+
+    static LoginOutcome modalClosed() {
+        return MODAL_CLOSED;
+    }
+
+    static LoginOutcome none() {
+        return NONE;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** Alert text, or null if the outcome was not an alert. */
+    public String getAlertText() {
+        return kind == Kind.ALERT ? text : null;
+    }
+
+    /** Welcome text, or null if it was not what showed up first. */
+    public String getWelcomeText() {
+        return kind == Kind.WELCOME ? text : null;
+    }
+
+    @Override
+    public String toString() {
+        return text == null ? kind.name() : kind + "('" + text + "')";
+    }
+}
@@ -1,10 +1,15 @@
 package pages;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.UnhandledAlertException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import utils.Config;
+import utils.Expect;
 
 
 public class LoginPage extends BasePage {
@@ -29,13 +34,23 @@ public class LoginPage extends BasePage {
     @FindBy(xpath = "//button[normalize-space()='Sign up' or @onclick='signUp()' or @onclick='signup()' or contains(@onclick,'sign')]")
     private WebElement signupButton;
 
+    // ----- Modals (located on demand: shown/hidden state is what matters) -----
+    private static final By LOGIN_MODAL = By.id("logInModal");
+    private static final By SIGNUP_MODAL = By.id("signInModal");
+
     // ----- Post-login element -----
     @FindBy(id = "nameofuser")
     private WebElement nameOfUser; // visible after successful login
 
+    /** The welcome link once it carries a user name; #nameofuser itself is always in the DOM, just hidden. */
+    private static final By WELCOME = By.xpath("//a[@id='nameofuser' and starts-with(normalize-space(),'Welcome')]");
+
     public LoginPage() {
         super();
-        PageFactory.initElements(getDriver(), this);
+    }
+
+    public LoginPage(Config config) {
+        super(config);
     }
 
 
@@ -68,7 +83,7 @@ public class LoginPage extends BasePage {
             elementHelper.safeType(signupUsernameField, username == null ? "" : username);
             elementHelper.safeType(signupPasswordField, password == null ? "" : password);
             elementHelper.safeClick(signupButton);
-        } catch (Exception e) {
+        } catch (TimeoutException | NoSuchElementException e) {
             // If signup modal layout differs, still attempt what we can and let caller inspect alerts.
             System.out.println("Warning: signup interaction encountered an issue: " + e.getMessage());
         }
@@ -79,44 +94,96 @@ public class LoginPage extends BasePage {
     // -----------------------
     /**
      * Returns welcome text (e.g. "Welcome pavanol") if it's visible — otherwise null.
-     * Uses elementHelper wait methods and handles unexpected alerts quietly.
+     * Waits for it to appear; use {@link #getWelcomeTextIfVisible(Expect)} with ABSENT when a
+     * logged-out page is a likely answer.
      */
     public String getWelcomeTextIfVisible() {
+        return getWelcomeTextIfVisible(Expect.PRESENT);
+    }
+
+    /**
+     * Welcome text or null, waiting for it ({@link Expect#PRESENT}) or only letting the page settle
+     * ({@link Expect#ABSENT}). Handles unexpected alerts quietly.
+     */
+    public String getWelcomeTextIfVisible(Expect expect) {
         try {
-            elementHelper.waitUntilVisible(nameOfUser);
-            String txt = elementHelper.waitAndGetText(nameOfUser);
+            if (!elementHelper.isDisplayed(nameOfUser, expect)) return null;
+            String txt = nameOfUser.getText();
             return (txt == null || txt.isBlank()) ? null : txt;
-        } catch (TimeoutException te) {
-            return null;
         } catch (UnhandledAlertException ae) {
             // Accept unexpected alert and return null (caller can then read alert via Helpers)
             try {
                 getDriver().switchTo().alert().accept();
-            } catch (Exception ignored) {}
+            } catch (NoAlertPresentException ignored) {}
             return null;
-        } catch (Exception e) {
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
             return null;
         }
     }
 
     /**
-     * Small wrapper around Helpers.readAndAcceptAlert so callers can easily capture alert text.
-     * Keep the same long parameter type as Helpers method to avoid confusion.
+     * Whether the welcome text is on the page, waiting for it ({@link Expect#PRESENT}) or confirming
+     * it is not there with a non-waiting lookup once the page settles ({@link Expect#ABSENT}).
      */
-    public String readAndAcceptAlert(long timeoutSeconds) {
-        return elementHelper.readAndAcceptAlert(timeoutSeconds);
+    public boolean isLoggedIn(Expect expect) {
+        return elementHelper.elementExists(WELCOME, expect);
+    }
+
+    /**
+     * Wait for whatever the login submit leads to first: an alert (read and accepted), the welcome text,
+     * or the login modal closing (success, page about to reload). One polling loop races all three, so a
+     * rejected login returns as soon as its alert opens and a successful one never waits for an alert.
+     */
+    public LoginOutcome awaitLoginOutcome() {
+        return awaitOutcome("loginOutcome", LOGIN_MODAL, true);
+    }
+
+    /** Like {@link #awaitLoginOutcome()} for the signup modal: its alert, or the modal closing. */
+    public LoginOutcome awaitSignupOutcome() {
+        return awaitOutcome("signupOutcome", SIGNUP_MODAL, false);
+    }
+
+    private LoginOutcome awaitOutcome(String kind, By modal, boolean welcome) {
+        LoginOutcome outcome = elementHelper.firstOutcome(kind, wd -> {
+            try {
+                String alert = elementHelper.acceptAlertNow();
+                if (alert != null) return LoginOutcome.alert(alert);
+                if (welcome && elementHelper.isDisplayedNow(nameOfUser)) {
+                    String txt = nameOfUser.getText();
+                    if (txt != null && !txt.isBlank()) return LoginOutcome.welcome(txt);
+                }
+                return isModalShown(modal) ? null : LoginOutcome.modalClosed();
+            } catch (UnhandledAlertException e) {
+                // the alert opened between two probes and the driver closed it; its text is on the exception
+                return LoginOutcome.alert(e.getAlertText());
+            }
+        });
+        return outcome == null ? LoginOutcome.none() : outcome;
+    }
+
+    private boolean isModalShown(By modal) {
+        for (WebElement m : getDriver().findElements(modal)) {
+            if (m.isDisplayed()) return true;
+        }
+        return false;
     }
 
     /**
      * Convenience check: no alert and welcome text present.
      */
     public boolean isLoginSuccessful() {
-        String alert = readAndAcceptAlert(2L);
-        if (alert != null) {
-            System.out.println("Login unsuccessful alert: " + alert);
-            return false;
+        LoginOutcome outcome = awaitLoginOutcome();
+        switch (outcome.getKind()) {
+            case ALERT:
+                System.out.println("Login unsuccessful alert: " + outcome.getAlertText());
+                return false;
+            case WELCOME:
+                return true;
+            case MODAL_CLOSED:
+                // modal hidden before the page reload: the welcome text belongs to the next document
+                return getWelcomeTextIfVisible() != null;
+            default:
+                return false;
         }
-        String welcome = getWelcomeTextIfVisible();
-        return welcome != null && !welcome.isBlank();
     }
 }
@@ -0,0 +1,187 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import utils.LocatorAware;
+import utils.PageGeneration;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Replacement for {@code PageFactory.initElements} with two differences:
+ *  - the reflective scan of a page class (fields + their locators) happens once per class and is cached;
+ *  - element proxies keep the resolved WebElement for the current document ({@link PageGeneration})
+ *    instead of calling findElement on every method call. A navigation drops the handle, and a
+ *    stale handle (DOM re-render) is re-located once transparently. Fields marked {@link Uncached}, whose
+ *    match changes without the old one going stale, are located on every call instead.
+ * Field rules match PageFactory: every WebElement field, and List&lt;WebElement&gt; fields with FindBy/FindBys/FindAll.
+ */
+final class PageElements {
+
+    private static final ClassValue<List<Binding>> METADATA = new ClassValue<>() {
+        @Override
+        protected List<Binding> computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private static final Class<?>[] ELEMENT_INTERFACES =
+            {WebElement.class, WrapsElement.class, Locatable.class, LocatorAware.class};
+
+    private PageElements() { /* utility class */ }
+
+    /** Populate the page's element fields from the cached metadata of its class. */
+    static void init(WebDriver driver, Object page) {
+        for (Binding binding : METADATA.get(page.getClass())) {
+            Object value = binding.list
+                    ? listProxy(driver, binding.by)
+                    : elementProxy(driver, binding.by, binding.cached);
+            try {
+                binding.field.set(page, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot initialise " + binding.field, e);
+            }
+        }
+    }
+
+    // =========================
+    // Metadata
+    // =========================
+
+    private static List<Binding> scan(Class<?> type) {
+        List<Binding> bindings = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                boolean element = field.getType() == WebElement.class;
+                boolean list = isWebElementList(field) && isAnnotated(field);
+                if (!element && !list) continue;
+                field.setAccessible(true);
+                bindings.add(new Binding(field, new Annotations(field).buildBy(), list,
+                        !field.isAnnotationPresent(Uncached.class)));
+            }
+        }
+        return Collections.unmodifiableList(bindings);
+    }
+
+    private static boolean isWebElementList(Field field) {
+        if (field.getType() != List.class) return false;
+        Type generic = field.getGenericType();
+        return generic instanceof ParameterizedType
+                && ((ParameterizedType) generic).getActualTypeArguments()[0] == WebElement.class;
+    }
+
+    private static boolean isAnnotated(Field field) {
+        return field.isAnnotationPresent(FindBy.class)
+                || field.isAnnotationPresent(FindBys.class)
+                || field.isAnnotationPresent(FindAll.class);
+    }
+
+    private static final class Binding {
+        final Field field;
+        final By by;
+        final boolean list;
+        final boolean cached;
+
+        Binding(Field field, By by, boolean list, boolean cached) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+            this.cached = cached;
+        }
+    }
+
+    // =========================
+    // Proxies
+    // =========================
+
+    private static WebElement elementProxy(WebDriver driver, By by, boolean cached) {
+        return (WebElement) Proxy.newProxyInstance(
+                PageElements.class.getClassLoader(), ELEMENT_INTERFACES, new CachedElement(driver, by, cached));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WebElement> listProxy(WebDriver driver, By by) {
+        return (List<WebElement>) Proxy.newProxyInstance(
+                PageElements.class.getClassLoader(), new Class<?>[]{List.class},
+                (proxy, method, args) -> {
+                    if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return "Element list for: " + by;
+                    }
+                    return invoke(driver.findElements(by), method, args);
+                });
+    }
+
+    private static final class CachedElement implements InvocationHandler {
+        private final WebDriver driver;
+        private final By by;
+        private final boolean cached;
+        private WebElement element;
+        private long generation = -1;
+
+        CachedElement(WebDriver driver, By by, boolean cached) {
+            this.driver = driver;
+            this.by = by;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("toString".equals(name) && method.getParameterCount() == 0) {
+                return "Cached element for: " + by;
+            }
+            if ("hashCode".equals(name) && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            if ("equals".equals(name) && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if ("getLocator".equals(name) && method.getParameterCount() == 0) {
+                return by;
+            }
+            if ("getWrappedElement".equals(name)) {
+                return resolve();
+            }
+            try {
+                return PageElements.invoke(resolve(), method, args);
+            } catch (StaleElementReferenceException e) {
+                element = null;
+                return PageElements.invoke(resolve(), method, args);
+            }
+        }
+
+        private WebElement resolve() {
+            long current = PageGeneration.current();
+            if (!cached || element == null || generation != current) {
+                element = driver.findElement(by);
+                generation = current;
+            }
+            return element;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -4,16 +4,23 @@ import java.util.Objects;
 
 /**
  * Normalization rules:
- *  - name and price are trimmed (null -> empty string)
- *  - equality is exact on the trimmed strings (keeps feature table exact-match behavior)
+ *  - name, price and link are trimmed (null -> empty string)
+ *  - equality is exact on the trimmed name and price (keeps feature table exact-match behavior);
+ *    the link is extra detail read from the page and is not compared
  */
 public final class Product {
     private final String name;
     private final String price;
+    private final String link;
 
     public Product(String name, String price) {
+        this(name, price, null);
+    }
+
+    public Product(String name, String price, String link) {
         this.name = normalize(name);
         this.price = normalize(price);
+        this.link = normalize(link);
     }
 
     public static Product from(String name, String price) {
@@ -32,6 +39,10 @@ public final class Product {
         return price;
     }
 
+    public String getLink() {
+        return link;
+    }
+
     @Override
     public String toString() {
         return String.format("Product{name='%s', price='%s'}", name, price);
@@ -0,0 +1,15 @@
+package pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an element field whose locator depends on page state (e.g. {@code .active}): {@link PageElements}
+ * then locates it on every call instead of keeping the first match until the next navigation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@interface Uncached {
+}
@@ -0,0 +1,178 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wait budgets learned from how long each locator/condition actually took to become ready.
+ * Every keyed wait in {@link Helpers} records its duration here; once a key has {@value #MIN_SAMPLES} samples
+ * its timeout becomes p99 * 1.5 + 250ms (never below 300ms, never above the caller's fixed timeout) and its
+ * poll interval a quarter of the median (25-200ms). Keys without enough history use the fixed values.
+ * Probes such as {@link Helpers#elementExists(By)} give up at that timeout, so a missing element is reported in
+ * hundreds of milliseconds; waits that must succeed go on to the fixed timeout after it.
+ * The last {@value #WINDOW} samples per key persist across runs in target/adaptive-timeouts.properties
+ * (adaptive.file); adaptive.timeouts=false turns adaptation off while still recording.
+ * Parallel JVMs sharing the file keep whichever history was saved last.
+ */
+public final class AdaptiveTimeouts {
+
+    static final int WINDOW = 64;
+    static final int MIN_SAMPLES = 5;
+
+    private static final double P99_FACTOR = 1.5;
+    private static final long MARGIN_MS = 250;
+    private static final long FLOOR_MS = 300;
+    private static final long POLL_MIN_MS = 25;
+    private static final long POLL_MAX_MS = 200;
+
+    private static final boolean ENABLED = Config.get().isAdaptiveTimeouts();
+    private static final Path FILE = Config.get().getAdaptiveFile();
+    private static final Map<String, Samples> SAMPLES = load(FILE);
+
+    private AdaptiveTimeouts() { /* utility class */ }
+
+    /**
+     * Key for a wait on {@code target}: a By, or a page-object element that knows its locator.
+     * Returns null (not adaptive) for anything else, e.g. raw WebElements whose identity changes every session.
+     */
+    public static String key(String kind, Object target) {
+        if (target instanceof By) return kind + " " + target;
+        if (target instanceof LocatorAware) return kind + " " + ((LocatorAware) target).getLocator();
+        return null;
+    }
+
+    // =========================
+    // Budgets
+    // =========================
+
+    /** Learned timeout for the key, or {@code ceiling} when there is no (or not enough) history. */
+    public static Duration timeout(String key, Duration ceiling) {
+        long[] sorted = history(key);
+        if (sorted == null) return ceiling;
+        long ms = (long) (percentile(sorted, 0.99) * P99_FACTOR) + MARGIN_MS;
+        return Duration.ofMillis(Math.min(Math.max(ms, FLOOR_MS), ceiling.toMillis()));
+    }
+
+    /** Learned poll interval for the key, or {@code fallback} without history. */
+    public static Duration poll(String key, Duration fallback) {
+        long[] sorted = history(key);
+        if (sorted == null) return fallback;
+        long ms = percentile(sorted, 0.5) / 4;
+        return Duration.ofMillis(Math.min(Math.max(ms, POLL_MIN_MS), POLL_MAX_MS));
+    }
+
+    /** Record how long a successful wait for the key took. Timed-out waits are not recorded. */
+    public static void record(String key, long nanos) {
+        if (key == null) return;
+        SAMPLES.computeIfAbsent(key, k -> new Samples()).add(nanos / 1_000_000);
+    }
+
+    // =========================
+    // Persistence
+    // =========================
+
+    /** Write the current history (loaded samples plus this run's) back to the store. */
+    public static void save() {
+        if (SAMPLES.isEmpty()) return;
+        Properties props = new Properties();
+        SAMPLES.forEach((key, samples) -> props.setProperty(key, samples.encode()));
+        try {
+            if (FILE.getParent() != null) Files.createDirectories(FILE.getParent());
+            try (OutputStream out = Files.newOutputStream(FILE)) {
+                props.store(out, "wait durations in ms per condition + locator, newest last");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + FILE, e);
+        }
+    }
+
+    private static Map<String, Samples> load(Path file) {
+        Map<String, Samples> samples = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(file)) return samples;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable adaptive timeout store " + file + ": " + e.getMessage());
+            return samples;
+        }
+        for (String key : props.stringPropertyNames()) {
+            Samples s = new Samples();
+            for (String value : props.getProperty(key).split(",")) {
+                try {
+                    s.add(Long.parseLong(value.trim()));
+                } catch (NumberFormatException ignored) {
+                    // hand-edited or truncated entry
+                }
+            }
+            samples.put(key, s);
+        }
+        return samples;
+    }
+
+    // =========================
+    // Internals
+    // =========================
+
+    private static long[] history(String key) {
+        if (!ENABLED || key == null) return null;
+        Samples samples = SAMPLES.get(key);
+        return samples == null ? null : samples.sorted();
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /** Ring buffer of the most recent {@link #WINDOW} durations of one key. */
+    private static final class Samples {
+        private final long[] values = new long[WINDOW];
+        private int size;
+        private int next;
+
+        synchronized void add(long ms) {
+            values[next] = ms;
+            next = (next + 1) % WINDOW;
+            if (size < WINDOW) size++;
+        }
+
+        /** Sorted copy, or null below {@link #MIN_SAMPLES}. */
+        synchronized long[] sorted() {
+            if (size < MIN_SAMPLES) return null;
+            long[] copy = Arrays.copyOf(ordered(), size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized String encode() {
+            StringBuilder sb = new StringBuilder();
+            for (long v : ordered()) {
+                if (sb.length() > 0) sb.append(',');
+                sb.append(v);
+            }
+            return sb.toString();
+        }
+
+        /** Oldest first. */
+        private long[] ordered() {
+            long[] out = new long[size];
+            int start = size < WINDOW ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                out[i] = values[(start + i) % WINDOW];
+            }
+            return out;
+        }
+    }
+}
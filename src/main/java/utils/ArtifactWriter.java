@@ -0,0 +1,187 @@
+package utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Failure diagnostics written off the test thread.
+ * {@link #capture(WebDriver, String)} grabs what only the live browser can give (screenshot bytes, DOM,
+ * console log, URL) and {@link #submit(Artifact)} queues it for a background thread that zips it into
+ * artifacts.dir (default target/artifacts). The queue is bounded (artifacts.queue, default 16): when it is full the artifact is
+ * dropped and counted ("artifacts.dropped") rather than blocking the scenario. Call {@link #flush(Duration)}
+ * before the JVM exits.
+ */
+public final class ArtifactWriter {
+
+    private static final Path DIR = Config.get().getArtifactsDir();
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS", Locale.ROOT);
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Config.get().getArtifactsQueue()),
+            r -> {
+                Thread t = new Thread(r, "artifact-writer");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+
+    private ArtifactWriter() { /* utility class */ }
+
+    // =========================
+    // Capture (test thread)
+    // =========================
+
+    /**
+     * Collect diagnostics from the browser. Each part is best-effort: a dead session or an unsupported
+     * log endpoint just leaves that part out.
+     */
+    public static Artifact capture(WebDriver driver, String label) {
+        long start = System.nanoTime();
+        Artifact artifact = new Artifact(label);
+        try {
+            artifact.url = driver.getCurrentUrl();
+        } catch (WebDriverException ignored) {
+        }
+        if (driver instanceof TakesScreenshot) {
+            try {
+                artifact.screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException ignored) {
+            }
+        }
+        try {
+            artifact.pageSource = driver.getPageSource();
+        } catch (WebDriverException ignored) {
+        }
+        try {
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                artifact.consoleLog.add(Instant.ofEpochMilli(entry.getTimestamp()) + " " + entry.getLevel() + " "
+                        + entry.getMessage());
+            }
+        } catch (WebDriverException | UnsupportedOperationException ignored) {
+            // logging not enabled for this session / driver
+        }
+        Metrics.record("artifacts.capture", System.nanoTime() - start);
+        return artifact;
+    }
+
+    // =========================
+    // Background writing
+    // =========================
+
+    /**
+     * Queue the artifact for writing.
+     *
+     * @return the zip file it will be written to, or null if the queue was full and it was dropped
+     */
+    public static Path submit(Artifact artifact) {
+        Path target = DIR.resolve(fileName(artifact.label));
+        try {
+            WRITER.execute(() -> write(artifact, target));
+            return target;
+        } catch (RejectedExecutionException e) {
+            Metrics.increment("artifacts.dropped");
+            System.err.println("Artifact queue full, dropped diagnostics for: " + artifact.label);
+            return null;
+        }
+    }
+
+    /** Wait up to {@code timeout} for queued artifacts to be written. */
+    public static boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (WRITER.getActiveCount() > 0 || !WRITER.getQueue().isEmpty()) {
+            if (System.nanoTime() > deadline) return false;
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void write(Artifact artifact, Path target) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream file = Files.newOutputStream(target);
+                 ZipOutputStream zip = new ZipOutputStream(file)) {
+                if (artifact.screenshot != null) {
+                    zip.setLevel(Deflater.NO_COMPRESSION); // PNG is already compressed
+                    entry(zip, "screenshot.png", artifact.screenshot);
+                }
+                zip.setLevel(Deflater.BEST_SPEED);
+                if (artifact.pageSource != null) {
+                    entry(zip, "page.html", artifact.pageSource.getBytes(StandardCharsets.UTF_8));
+                }
+                if (!artifact.consoleLog.isEmpty()) {
+                    entry(zip, "console.log", String.join("\n", artifact.consoleLog).getBytes(StandardCharsets.UTF_8));
+                }
+                entry(zip, "info.txt", ("label: " + artifact.label + "\nurl: " + artifact.url
+                        + "\ncaptured: " + artifact.capturedAt + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            Metrics.increment("artifacts.error");
+            System.err.println("Could not write artifact " + target + ": " + e.getMessage());
+        } finally {
+            Metrics.record("artifacts.write", System.nanoTime() - start);
+        }
+    }
+
+    private static void entry(ZipOutputStream zip, String name, byte[] data) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+    private static String fileName(String label) {
+        String safe = label.replaceAll("[^A-Za-z0-9._-]+", "_");
+        if (safe.length() > 80) safe = safe.substring(0, 80);
+        return safe + "-" + LocalDateTime.now().format(STAMP) + "-" + SEQUENCE.incrementAndGet() + ".zip";
+    }
+
+    /** Diagnostics of one failure; fields left null when the browser could not provide them. */
+    public static final class Artifact {
+        final String label;
+        final Instant capturedAt = Instant.now();
+        final List<String> consoleLog = new ArrayList<>();
+        String url;
+        byte[] screenshot;
+        String pageSource;
+
+        Artifact(String label) {
+            this.label = label;
+        }
+
+        public byte[] getScreenshot() {
+            return screenshot;
+        }
+    }
+}
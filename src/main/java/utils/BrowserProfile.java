@@ -0,0 +1,139 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * How a browser session is launched.
+ * <ul>
+ *   <li>DEFAULT – plain Chrome, as before profiles existed.</li>
+ *   <li>FAST – functional runs: headless, fixed viewport, no extensions/background work, reduced motion,
+ *       and images/fonts/analytics blocked at the network layer via CDP.</li>
+ *   <li>VISUAL – for checks that need real rendering (carousel): full window, animations and images on.</li>
+ * </ul>
+ * Select with browser.profile=default|fast|visual in {@link Config} (scenarios tagged @visual always get VISUAL).
+ * browser.headless=true forces headless for any profile.
+ * FAST blocking is tuned with browser.block (categories, default "images,fonts,analytics") and
+ * browser.allow (categories or exact patterns to exempt, e.g. "fonts" or "*.svg").
+ */
+public enum BrowserProfile {
+
+    DEFAULT {
+        @Override
+        ChromeOptions options() {
+            ChromeOptions options = baseOptions();
+            if (Config.get().isBrowserHeadless()) {
+                options.addArguments("--headless=new", "--window-size=1366,900");
+            }
+            return options;
+        }
+    },
+
+    FAST {
+        @Override
+        ChromeOptions options() {
+            ChromeOptions options = baseOptions();
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=1366,900",
+                    "--disable-extensions",
+                    "--disable-gpu",
+                    "--disable-dev-shm-usage",
+                    "--no-first-run",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--mute-audio",
+                    "--force-prefers-reduced-motion");
+            return options;
+        }
+
+        @Override
+        void afterStart(WebDriver driver) {
+            List<String> blocked = blockedUrlPatterns();
+            if (blocked.isEmpty() || !(driver instanceof HasCdp)) return;
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blocked));
+        }
+    },
+
+    VISUAL {
+        @Override
+        ChromeOptions options() {
+            ChromeOptions options = baseOptions();
+            options.addArguments("--window-size=1920,1080", "--disable-extensions");
+            if (Config.get().isBrowserHeadless()) {
+                options.addArguments("--headless=new");
+            }
+            return options;
+        }
+    };
+
+    /** URL patterns (Chrome wildcard syntax) per blockable resource category. */
+    private static final Map<String, List<String>> BLOCK_CATEGORIES = Map.of(
+            "images", List.of("*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico"),
+            "fonts", List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*fonts.googleapis.com*", "*fonts.gstatic.com*"),
+            "analytics", List.of("*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+                    "*hotjar.com*", "*facebook.net*"),
+            "media", List.of("*.mp4", "*.webm", "*.ogv", "*.m3u8"));
+
+    abstract ChromeOptions options();
+
+    /** Hook for setup that needs a live session (CDP commands). */
+    void afterStart(WebDriver driver) {
+    }
+
+    /** Options shared by every profile: browser console logs are kept for failure artifacts. */
+    private static ChromeOptions baseOptions() {
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        ChromeOptions options = new ChromeOptions();
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logs);
+        return options;
+    }
+
+    /** Profile from browser.profile, DEFAULT when unset. */
+    public static BrowserProfile configured() {
+        return Config.get().getBrowserProfile();
+    }
+
+    public static BrowserProfile fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown browser profile: " + name
+                    + " (expected one of " + Arrays.toString(values()) + ")", e);
+        }
+    }
+
+    static List<String> blockedUrlPatterns() {
+        Config config = Config.get();
+        Set<String> allow = config.getBrowserAllow();
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String category : config.getBrowserBlock()) {
+            if (allow.contains(category)) continue;
+            List<String> categoryPatterns = BLOCK_CATEGORIES.get(category);
+            if (categoryPatterns == null) {
+                patterns.add(category); // not a category: treat as a literal pattern
+            } else {
+                patterns.addAll(categoryPatterns);
+            }
+        }
+        patterns.removeAll(allow);
+        return new ArrayList<>(patterns);
+    }
+}
@@ -0,0 +1,555 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The run's settings, read once and parsed into typed values.
+ * Each key is looked up in these layers, the first one that has it wins:
+ * <ol>
+ *   <li>system properties ({@code -Dwait.timeoutSeconds=20});</li>
+ *   <li>environment variables: the key upper-cased with dots as underscores ({@code WAIT_TIMEOUTSECONDS=20});</li>
+ *   <li>the file named by -Dconfig.file / CONFIG_FILE, if any;</li>
+ *   <li>{@code config.properties} on the classpath, if present;</li>
+ *   <li>the defaults below.</li>
+ * </ol>
+ * {@link #get()} returns the same immutable snapshot to every caller, so hot paths read a field instead of
+ * parsing a property. A malformed value fails the first {@link #get()} with the key in the message.
+ * {@link #override(String, String)} replaces the snapshot for values only known once the run has started
+ * (e.g. the address of the in-process Grid); components that read a setting at class initialization
+ * (pool sizes, artifact queue, HTTP clients) keep the value they started with.
+ */
+public final class Config {
+
+    /** Every known key with its default ("" means unset). Keys outside this table are ignored. */
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    private static volatile Config current;
+
+    private final Map<String, String> values;
+
+    // Waits
+    private final Duration waitTimeout;
+    private final Duration waitPoll;
+    private final Duration alertTimeout;
+    private final Duration settleQuiet;
+    private final Duration settleMax;
+    private final Duration outcomePoll;
+    private final Duration httpConnectTimeout;
+    private final Duration apiRequestTimeout;
+
+    // Storefront
+    private final String storeBaseUrl;
+    private final String storeApiUrl;
+    private final boolean storeLocal;
+    private final int storeLocalPort;
+    private final boolean verifyViaApi;
+
+    // Browser
+    private final BrowserProfile browserProfile;
+    private final boolean browserHeadless;
+    private final Set<String> browserBlock;
+    private final Set<String> browserAllow;
+    private final boolean pageSoftReset;
+
+    // Driver pool, binaries and Grid
+    private final int poolMaxSize;
+    private final Duration poolIdle;
+    private final Duration poolLease;
+    private final String driverOfflineDir;
+    private final boolean driverOffline;
+    private final Path driverManifest;
+    private final String chromeBinary;
+    private final String gridUrl;
+    private final String gridBrowserVersion;
+    private final String gridPlatform;
+    private final Duration gridReadTimeout;
+    private final int gridMaxSessions;
+    private final int gridLocalPort;
+
+    // Parallelism
+    private final int shardCount;
+    private final int shardIndex;
+    private final Path shardTimings;
+
+    // Reporting and learned state
+    private final boolean metricsEnabled;
+    private final int metricsTopN;
+    private final Path artifactsDir;
+    private final int artifactsQueue;
+    private final Duration artifactsFlushTimeout;
+    private final boolean adaptiveTimeouts;
+    private final Path adaptiveFile;
+
+    private Config(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+
+        waitTimeout = Duration.ofSeconds(positive("wait.timeoutSeconds"));
+        waitPoll = Duration.ofMillis(positive("wait.pollMillis"));
+        alertTimeout = Duration.ofSeconds(positive("wait.alertSeconds"));
+        settleQuiet = Duration.ofMillis(positive("wait.settleQuietMillis"));
+        settleMax = Duration.ofMillis(positive("wait.settleMaxMillis"));
+        outcomePoll = Duration.ofMillis(positive("wait.outcomePollMillis"));
+        httpConnectTimeout = Duration.ofSeconds(positive("http.connectTimeoutSeconds"));
+        apiRequestTimeout = Duration.ofSeconds(positive("store.apiTimeoutSeconds"));
+
+        storeBaseUrl = trimSlash(string("store.baseUrl"));
+        storeApiUrl = trimSlash(string("store.apiUrl"));
+        storeLocal = oneOf("store.mode", "live", "local").equals("local");
+        storeLocalPort = port("store.localPort");
+        verifyViaApi = oneOf("verify.mode", "ui", "api").equals("api");
+
+        browserProfile = profile("browser.profile");
+        browserHeadless = bool("browser.headless");
+        browserBlock = csv("browser.block");
+        browserAllow = csv("browser.allow");
+        pageSoftReset = bool("page.softReset");
+
+        poolMaxSize = (int) positive("driver.pool.maxSize");
+        poolIdle = Duration.ofSeconds(positive("driver.pool.idleSeconds"));
+        poolLease = Duration.ofSeconds(positive("driver.pool.leaseSeconds"));
+        driverOfflineDir = string("driver.offlineDir");
+        driverOffline = bool("driver.offline");
+        driverManifest = Path.of(string("driver.manifest"));
+        chromeBinary = string("chrome.binary");
+        gridUrl = string("grid.url");
+        gridBrowserVersion = string("grid.browserVersion");
+        gridPlatform = string("grid.platform");
+        gridReadTimeout = Duration.ofSeconds(positive("grid.readTimeoutSeconds"));
+        gridMaxSessions = (int) positive("grid.maxSessions");
+        gridLocalPort = port("grid.localPort");
+
+        shardCount = (int) positive("shard.count");
+        shardIndex = (int) number("shard.index");
+        shardTimings = Path.of(string("shard.timings"));
+
+        metricsEnabled = bool("metrics.enabled");
+        metricsTopN = (int) positive("metrics.topN");
+        artifactsDir = Path.of(string("artifacts.dir"));
+        artifactsQueue = (int) positive("artifacts.queue");
+        artifactsFlushTimeout = Duration.ofSeconds(positive("artifacts.flushSeconds"));
+        adaptiveTimeouts = bool("adaptive.timeouts");
+        adaptiveFile = Path.of(string("adaptive.file"));
+    }
+
+    private static Map<String, String> defaults() {
+        String cores = String.valueOf(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        Map<String, String> d = new LinkedHashMap<>();
+        d.put("wait.timeoutSeconds", "15");
+        d.put("wait.pollMillis", "200");
+        d.put("wait.alertSeconds", "5");
+        d.put("wait.settleQuietMillis", "300");
+        d.put("wait.settleMaxMillis", "2000");
+        d.put("wait.outcomePollMillis", "50");
+        d.put("http.connectTimeoutSeconds", "10");
+        d.put("store.apiTimeoutSeconds", "15");
+
+        d.put("store.baseUrl", Storefront.LIVE_URL);
+        d.put("store.apiUrl", Storefront.LIVE_API_URL);
+        d.put("store.mode", "live");
+        d.put("store.localPort", "0");
+        d.put("verify.mode", "ui");
+
+        d.put("browser.profile", "default");
+        d.put("browser.headless", "false");
+        d.put("browser.block", "images,fonts,analytics");
+        d.put("browser.allow", "");
+        d.put("page.softReset", "true");
+
+        d.put("driver.pool.maxSize", cores);
+        d.put("driver.pool.idleSeconds", "300");
+        d.put("driver.pool.leaseSeconds", "120");
+        d.put("driver.offlineDir", "");
+        d.put("driver.offline", "false");
+        d.put("driver.manifest", Path.of(System.getProperty("user.home"), ".cache", "selenium-tests",
+                "driver-manifest.properties").toString());
+        d.put("chrome.binary", "");
+        d.put("grid.url", "");
+        d.put("grid.browserVersion", "");
+        d.put("grid.platform", "");
+        d.put("grid.readTimeoutSeconds", "300");
+        d.put("grid.maxSessions", cores);
+        d.put("grid.localPort", "0");
+
+        d.put("shard.count", "1");
+        d.put("shard.index", "0");
+        d.put("shard.timings", "target/scenario-timings.properties");
+
+        d.put("metrics.enabled", "true");
+        d.put("metrics.topN", "10");
+        d.put("artifacts.dir", "target/artifacts");
+        d.put("artifacts.queue", "16");
+        d.put("artifacts.flushSeconds", "30");
+        d.put("adaptive.timeouts", "true");
+        d.put("adaptive.file", "target/adaptive-timeouts.properties");
+        return Collections.unmodifiableMap(d);
+    }
+
+    // =========================
+    // Snapshot
+    // =========================
+
+    /** The run's configuration, loaded from the layers on first use. */
+    public static Config get() {
+        Config config = current;
+        if (config == null) {
+            synchronized (Config.class) {
+                config = current;
+                if (config == null) current = config = new Config(load());
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Replace one setting for the rest of the run (copy-on-write: callers holding the old snapshot keep it).
+     *
+     * @throws IllegalArgumentException for an unknown key or a value that does not parse
+     */
+    public static synchronized Config override(String key, String value) {
+        if (!DEFAULTS.containsKey(key)) {
+            throw new IllegalArgumentException("Unknown config key: " + key);
+        }
+        Map<String, String> values = new LinkedHashMap<>(get().values);
+        values.put(key, value == null ? "" : value.trim());
+        current = new Config(values);
+        return current;
+    }
+
+    private static Map<String, String> load() {
+        Properties classpath = new Properties();
+        try (InputStream in = Config.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (in != null) classpath.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read config.properties from the classpath", e);
+        }
+
+        Properties file = new Properties();
+        String fileName = System.getProperty("config.file", System.getenv("CONFIG_FILE"));
+        if (fileName != null && !fileName.isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+                file.load(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read config file " + fileName, e);
+            }
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        DEFAULTS.forEach((key, fallback) -> {
+            String value = System.getProperty(key);
+            if (value == null) value = System.getenv(envName(key));
+            if (value == null) value = file.getProperty(key);
+            if (value == null) value = classpath.getProperty(key);
+            values.put(key, value == null ? fallback : value.trim());
+        });
+        return values;
+    }
+
+    static String envName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    // =========================
+    // Waits
+    // =========================
+
+    /** Upper bound of every Helpers wait (wait.timeoutSeconds, 15). */
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    /** Poll interval of waits without learned history (wait.pollMillis, 200). */
+    public Duration getWaitPoll() {
+        return waitPoll;
+    }
+
+    /** How long a step waits for an expected alert (wait.alertSeconds, 5). */
+    public Duration getAlertTimeout() {
+        return alertTimeout;
+    }
+
+    /** Quiet period before an absence re-check (wait.settleQuietMillis, 300). */
+    public Duration getSettleQuiet() {
+        return settleQuiet;
+    }
+
+    /** Most spent waiting for that quiet period (wait.settleMaxMillis, 2000). */
+    public Duration getSettleMax() {
+        return settleMax;
+    }
+
+    /** Poll interval of outcome races (wait.outcomePollMillis, 50). */
+    public Duration getOutcomePoll() {
+        return outcomePoll;
+    }
+
+    /** Connect timeout of the HTTP clients talking to the storefront API and the Grid (http.connectTimeoutSeconds, 10). */
+    public Duration getHttpConnectTimeout() {
+        return httpConnectTimeout;
+    }
+
+    /** Per-request timeout of storefront API calls (store.apiTimeoutSeconds, 15). */
+    public Duration getApiRequestTimeout() {
+        return apiRequestTimeout;
+    }
+
+    // =========================
+    // Storefront
+    // =========================
+
+    /** Configured storefront pages URL, no trailing slash (see {@link Storefront#baseUrl()} for the effective one). */
+    public String getStoreBaseUrl() {
+        return storeBaseUrl;
+    }
+
+    /** Configured storefront API URL, no trailing slash (see {@link Storefront#apiUrl()}). */
+    public String getStoreApiUrl() {
+        return storeApiUrl;
+    }
+
+    /** store.mode=local: serve the storefront from {@link LocalStorefront}. */
+    public boolean isStoreLocal() {
+        return storeLocal;
+    }
+
+    /** Port of the local storefront; 0 picks a free one. */
+    public int getStoreLocalPort() {
+        return storeLocalPort;
+    }
+
+    /** verify.mode=api: check product tables against the JSON catalog instead of the grid. */
+    public boolean isVerifyViaApi() {
+        return verifyViaApi;
+    }
+
+    // =========================
+    // Browser
+    // =========================
+
+    public BrowserProfile getBrowserProfile() {
+        return browserProfile;
+    }
+
+    /** Forces headless for every profile. */
+    public boolean isBrowserHeadless() {
+        return browserHeadless;
+    }
+
+    /** Resource categories or URL patterns the FAST profile blocks. */
+    public Set<String> getBrowserBlock() {
+        return browserBlock;
+    }
+
+    /** Categories or patterns exempted from {@link #getBrowserBlock()}. */
+    public Set<String> getBrowserAllow() {
+        return browserAllow;
+    }
+
+    /** Reuse a still-clean page instead of reloading it (page.softReset). */
+    public boolean isPageSoftReset() {
+        return pageSoftReset;
+    }
+
+    // =========================
+    // Driver pool, binaries and Grid
+    // =========================
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public Duration getPoolIdle() {
+        return poolIdle;
+    }
+
+    public Duration getPoolLease() {
+        return poolLease;
+    }
+
+    /** Directory of pre-provisioned chromedrivers, or null. */
+    public String getDriverOfflineDir() {
+        return driverOfflineDir;
+    }
+
+    /** Never download a chromedriver. */
+    public boolean isDriverOffline() {
+        return driverOffline;
+    }
+
+    public Path getDriverManifest() {
+        return driverManifest;
+    }
+
+    /** Chrome executable to query for its version, or null to look in the usual places. */
+    public String getChromeBinary() {
+        return chromeBinary;
+    }
+
+    /** Selenium Grid address, "local" for the in-process Grid, or null for a local ChromeDriver. */
+    public String getGridUrl() {
+        return gridUrl;
+    }
+
+    public String getGridBrowserVersion() {
+        return gridBrowserVersion;
+    }
+
+    public String getGridPlatform() {
+        return gridPlatform;
+    }
+
+    public Duration getGridReadTimeout() {
+        return gridReadTimeout;
+    }
+
+    public int getGridMaxSessions() {
+        return gridMaxSessions;
+    }
+
+    /** Port of the in-process Grid; 0 picks a free one. */
+    public int getGridLocalPort() {
+        return gridLocalPort;
+    }
+
+    // =========================
+    // Parallelism
+    // =========================
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /** Scenario durations used to balance shards. */
+    public Path getShardTimings() {
+        return shardTimings;
+    }
+
+    // =========================
+    // Reporting and learned state
+    // =========================
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /** Slowest steps listed in the metrics summary. */
+    public int getMetricsTopN() {
+        return metricsTopN;
+    }
+
+    public Path getArtifactsDir() {
+        return artifactsDir;
+    }
+
+    /** Failure artifacts waiting to be written before capture starts blocking. */
+    public int getArtifactsQueue() {
+        return artifactsQueue;
+    }
+
+    /** How long shutdown waits for pending artifacts. */
+    public Duration getArtifactsFlushTimeout() {
+        return artifactsFlushTimeout;
+    }
+
+    /** Use learned wait budgets (recording happens either way). */
+    public boolean isAdaptiveTimeouts() {
+        return adaptiveTimeouts;
+    }
+
+    public Path getAdaptiveFile() {
+        return adaptiveFile;
+    }
+
+    /** Effective value of every key, sorted, for logs. */
+    @Override
+    public String toString() {
+        return new TreeMap<>(values).toString();
+    }
+
+    // =========================
+    // Parsing
+    // =========================
+
+    /** The value, or null when unset/blank. */
+    private String string(String key) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private long number(String key) {
+        String value = values.get(key);
+        try {
+            long n = Long.parseLong(value);
+            if (n < 0) throw new NumberFormatException();
+            return n;
+        } catch (NumberFormatException e) {
+            throw invalid(key, value, "a non-negative whole number");
+        }
+    }
+
+    private long positive(String key) {
+        long n = number(key);
+        if (n == 0) throw invalid(key, values.get(key), "a whole number above 0");
+        return n;
+    }
+
+    private int port(String key) {
+        long n = number(key);
+        if (n > 65535) throw invalid(key, values.get(key), "a port (0 for any free one)");
+        return (int) n;
+    }
+
+    private boolean bool(String key) {
+        return oneOf(key, "true", "false").equals("true");
+    }
+
+    private String oneOf(String key, String... allowed) {
+        String value = values.get(key).toLowerCase(Locale.ROOT);
+        for (String option : allowed) {
+            if (option.equals(value)) return option;
+        }
+        throw invalid(key, values.get(key), "one of " + Arrays.toString(allowed));
+    }
+
+    private BrowserProfile profile(String key) {
+        try {
+            return BrowserProfile.fromName(values.get(key));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Set<String> csv(String key) {
+        Set<String> items = Arrays.stream(values.get(key).split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return Collections.unmodifiableSet(items);
+    }
+
+    private static String trimSlash(String url) {
+        return url != null && url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static IllegalArgumentException invalid(String key, String value, String expected) {
+        return new IllegalArgumentException("Invalid value for " + key + " (" + envName(key) + "): \""
+                + value + "\", expected " + expected);
+    }
+}
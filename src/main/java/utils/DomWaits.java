@@ -0,0 +1,186 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Event-driven waits that run inside the page.
+ * A condition is checked once, then re-checked on every DOM mutation and transition/animation end
+ * (via MutationObserver and document listeners) until it holds or the timeout expires.
+ * The wait returns as soon as the page settles instead of sleeping or polling from the test side.
+ */
+public class DomWaits {
+
+    /** Extra room given to Selenium's script timeout so the in-page timer always fires first. */
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    /** Largest script timeout already applied per browser session (avoids a round-trip per wait). */
+    private static final Map<WebDriver, Duration> SCRIPT_TIMEOUTS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String AWAIT_TEMPLATE =
+            "var args = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];"
+                    + "var check = function () { try { return !!(%s); } catch (e) { return false; } };"
+                    + "if (check()) { done(true); return; }"
+                    + "var events = ['transitionend', 'animationend', 'dw:settled'];"
+                    + "var finished = false, observer, timer, safety;"
+                    + "var finish = function (ok) {"
+                    + "  if (finished) return; finished = true;"
+                    + "  observer.disconnect(); clearTimeout(timer); clearInterval(safety);"
+                    + "  events.forEach(function (e) { document.removeEventListener(e, onChange, true); });"
+                    + "  done(ok);"
+                    + "};"
+                    + "var onChange = function () { if (check()) finish(true); };"
+                    + "observer = new MutationObserver(onChange);"
+                    + "observer.observe(document.documentElement,"
+                    + "  {subtree: true, childList: true, attributes: true, characterData: true});"
+                    + "events.forEach(function (e) { document.addEventListener(e, onChange, true); });"
+                    // safety net for state that changes without a mutation (e.g. pure stylesheet/layout changes)
+                    + "safety = setInterval(onChange, 250);"
+                    + "timer = setTimeout(function () { finish(false); }, timeoutMs);";
+
+    // ----- Built-in conditions (JavaScript expressions; 'args' is the map passed to until) -----
+
+    private static final String MODAL_HIDDEN =
+            "!document.querySelector('.modal.show') && !document.querySelector('.modal-backdrop')";
+
+    private static final String CAROUSEL_IDLE =
+            "(function (c) { return !!c && !c.querySelector('.carousel-item-next, .carousel-item-prev'); })"
+                    + "(document.querySelector(args.css))";
+
+    private static final String CHILDREN_REPLACED =
+            "(function (el) {"
+                    + "  if (!el || !el.children.length) return false;"
+                    + "  for (var i = 0; i < el.children.length; i++) { if (el.children[i].__dwStale) return false; }"
+                    + "  return true;"
+                    + "})(document.querySelector(args.css))";
+
+    private static final String MARK_CHILDREN =
+            "var el = document.querySelector(arguments[0]);"
+                    + "if (el) { for (var i = 0; i < el.children.length; i++) { el.children[i].__dwStale = true; } }";
+
+    /**
+     * Resolves true once nothing in the DOM has changed, and no fetch/XHR tracked by {@link NetworkWaits}
+     * has been in flight, for {@code quietMs}; false if that never happens within {@code maxMs}.
+     */
+    private static final String QUIET =
+            "var quietMs = arguments[0], maxMs = arguments[1], done = arguments[arguments.length - 1];"
+                    + "var start = Date.now(), last = start, ticker;"
+                    + "var observer = new MutationObserver(function () { last = Date.now(); });"
+                    + "observer.observe(document.documentElement,"
+                    + "  {subtree: true, childList: true, attributes: true, characterData: true});"
+                    + "var finish = function (ok) { clearInterval(ticker); observer.disconnect(); done(ok); };"
+                    + "ticker = setInterval(function () {"
+                    + "  var now = Date.now();"
+                    + "  if (window.__nw && Object.keys(window.__nw.pending).length) last = now;"
+                    + "  if (now - last >= quietMs) finish(true);"
+                    + "  else if (now - start >= maxMs) finish(false);"
+                    + "}, 25);";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public DomWaits(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    // =========================
+    // Generic engine
+    // =========================
+
+    /**
+     * Wait until the JavaScript boolean expression holds in the page.
+     * The expression can read {@code args} (the given map, serialized to a JS object).
+     *
+     * @throws TimeoutException if the condition is still false after the timeout
+     */
+    public void until(String condition, Map<String, ?> args) {
+        ensureScriptTimeout();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    String.format(AWAIT_TEMPLATE, condition), args, timeout.toMillis());
+        } catch (ScriptTimeoutException e) {
+            Metrics.increment("domwait.timeout");
+            throw new TimeoutException("Page condition not met within " + timeout + ": " + condition, e);
+        } finally {
+            Metrics.record("domwait", System.nanoTime() - start);
+        }
+        if (!Boolean.TRUE.equals(result)) {
+            Metrics.increment("domwait.timeout");
+            throw new TimeoutException("Page condition not met within " + timeout + ": " + condition);
+        }
+    }
+
+    public void until(String condition) {
+        until(condition, Collections.emptyMap());
+    }
+
+    // =========================
+    // Named conditions
+    // =========================
+
+    /** Wait until no Bootstrap modal is shown and its backdrop has been removed. */
+    public void waitForModalHidden() {
+        until(MODAL_HIDDEN);
+    }
+
+    /** Wait until the carousel (CSS selector) is not in the middle of a slide transition. */
+    public void waitForCarouselIdle(String carouselCss) {
+        until(CAROUSEL_IDLE, Map.of("css", carouselCss));
+    }
+
+    /**
+     * Tag the current children of the container so {@link #waitForChildrenReplaced(String)}
+     * can tell them apart from newly rendered ones. Call before the action that re-renders.
+     */
+    public void markChildren(String containerCss) {
+        ((JavascriptExecutor) driver).executeScript(MARK_CHILDREN, containerCss);
+    }
+
+    /** Wait until the container holds children and none of them were tagged by {@link #markChildren(String)}. */
+    public void waitForChildrenReplaced(String containerCss) {
+        until(CHILDREN_REPLACED, Map.of("css", containerCss));
+    }
+
+    /**
+     * Wait until the page has been quiet (no DOM mutation, no tracked request in flight) for {@code quiet},
+     * giving up after {@code max}. Never throws on expiry: callers use it to let a page settle before a
+     * negative check, not to assert anything.
+     *
+     * @return true if the page went quiet, false if it was still busy at {@code max}
+     */
+    public boolean waitForQuiet(Duration quiet, Duration max) {
+        ensureScriptTimeout();
+        long start = System.nanoTime();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(QUIET, quiet.toMillis(), max.toMillis());
+            boolean settled = Boolean.TRUE.equals(result);
+            if (!settled) Metrics.increment("domwait.quiet.busy");
+            return settled;
+        } finally {
+            Metrics.record("domwait.quiet", System.nanoTime() - start);
+        }
+    }
+
+    private void ensureScriptTimeout() {
+        Duration needed = timeout.plus(SCRIPT_TIMEOUT_MARGIN);
+        // key on the underlying session: decorated drivers are fresh wrappers per lease
+        WebDriver session = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        Duration applied = SCRIPT_TIMEOUTS.get(session);
+        if (applied == null || applied.compareTo(needed) < 0) {
+            driver.manage().timeouts().scriptTimeout(needed);
+            SCRIPT_TIMEOUTS.put(session, needed);
+        }
+    }
+}
@@ -1,33 +1,93 @@
 package utils;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 /**
- * Minimal ThreadLocal WebDriver manager for simple tests.
- * Adjust browser/options as you require (ChromeOptions, headless, etc).
+ * ThreadLocal WebDriver manager backed by a {@link DriverPool}.
+ * Each thread leases a warm browser on first use and hands it back with {@link #releaseDriver()}.
+ * Pool settings come from {@link Config}:
+ * driver.pool.maxSize (default max(4, cores)), driver.pool.idleSeconds (default 300),
+ * driver.pool.leaseSeconds (default 120).
+ * Browsers are launched with a {@link BrowserProfile}: browser.profile (default DEFAULT), or the one chosen
+ * for the scenario via {@link #useProfile(BrowserProfile)}, locally or on a Selenium Grid ({@link DriverFactory}).
+ * The driver handed out is decorated to track navigations
+ * ({@link PageGeneration}) and, unless metrics.enabled=false, to time every command in {@link Metrics}.
  */
 public class Driver {
 
     private static final ThreadLocal<WebDriver> THREAD_DRIVER = new ThreadLocal<>();
+    /** The pooled browser behind the decorated THREAD_DRIVER. */
+    private static final ThreadLocal<WebDriver> THREAD_LEASE = new ThreadLocal<>();
+    /** Profile requested for this thread's next lease; null means the configured default. */
+    private static final ThreadLocal<BrowserProfile> THREAD_PROFILE = new ThreadLocal<>();
+
+    private static final Config CONFIG = Config.get();
+
+    private static final BrowserProfile DEFAULT_PROFILE = CONFIG.getBrowserProfile();
+
+    private static final boolean METRICS_ENABLED = CONFIG.isMetricsEnabled();
+
+    private static final DriverPool POOL = new DriverPool(
+            DriverFactory::create, CONFIG.getPoolMaxSize(), CONFIG.getPoolIdle(), CONFIG.getPoolLease());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(POOL::shutdown, "driver-pool-shutdown"));
+    }
 
     private Driver() { /* utility class */ }
 
     public static WebDriver getDriver() {
         if (THREAD_DRIVER.get() == null) {
-            // Ensure you have the io.github.bonigarcia:webdrivermanager dependency
-            WebDriverManager.chromedriver().setup();
-            THREAD_DRIVER.set(new ChromeDriver());
+            BrowserProfile profile = THREAD_PROFILE.get();
+            WebDriver leased = POOL.lease(profile != null ? profile : DEFAULT_PROFILE);
+            THREAD_LEASE.set(leased);
+            PageGeneration.advance(); // new scenario, nothing cached for this browser is trusted
+            THREAD_DRIVER.set(METRICS_ENABLED
+                    ? new EventFiringDecorator<>(new NavigationListener(), new TimingListener()).decorate(leased)
+                    : new EventFiringDecorator<>(new NavigationListener()).decorate(leased));
         }
         return THREAD_DRIVER.get();
     }
 
+    /** This thread's driver if one is leased, without leasing one (null otherwise). */
+    public static WebDriver currentDriver() {
+        return THREAD_DRIVER.get();
+    }
+
+    /**
+     * Launch this thread's next browser with the given profile instead of the configured default
+     * (e.g. VISUAL for carousel scenarios). Call before {@link #getDriver()}; cleared on release.
+     */
+    public static void useProfile(BrowserProfile profile) {
+        if (THREAD_LEASE.get() != null) {
+            throw new IllegalStateException("A browser is already leased on this thread; release it before switching profile");
+        }
+        THREAD_PROFILE.set(profile);
+    }
+
+    /** Return this thread's browser to the pool (reset, not quit). */
+    public static void releaseDriver() {
+        WebDriver leased = THREAD_LEASE.get();
+        THREAD_PROFILE.remove();
+        if (leased != null) {
+            clearThread();
+            POOL.release(leased);
+        }
+    }
+
+    /** Quit this thread's browser for good instead of returning it to the pool. */
     public static void quitDriver() {
-        WebDriver driver = THREAD_DRIVER.get();
-        if (driver != null) {
-            driver.quit();
-            THREAD_DRIVER.remove();
+        WebDriver leased = THREAD_LEASE.get();
+        THREAD_PROFILE.remove();
+        if (leased != null) {
+            clearThread();
+            POOL.discard(leased);
         }
     }
+
+    private static void clearThread() {
+        THREAD_DRIVER.remove();
+        THREAD_LEASE.remove();
+    }
 }
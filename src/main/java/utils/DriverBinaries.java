@@ -0,0 +1,247 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the chromedriver binary once per JVM and remembers it across runs.
+ * Resolution order:
+ * <ol>
+ *   <li>-Dwebdriver.chrome.driver, if it points at a file;</li>
+ *   <li>the manifest (driver.manifest, default ~/.cache/selenium-tests/driver-manifest.properties), as long as
+ *       the installed Chrome still has the version recorded there;</li>
+ *   <li>a pre-provisioned directory (driver.offlineDir), searched for a chromedriver whose major version
+ *       matches Chrome, e.g. {@code <dir>/131.0.6778.85/chromedriver};</li>
+ *   <li>WebDriverManager, unless driver.offline=true.</li>
+ * </ol>
+ * The result is written back to the manifest and exported as webdriver.chrome.driver, so ChromeDriver and
+ * the local Grid's node pick it up without any further lookup. If nothing is found, Selenium Manager / the PATH
+ * get their usual chance. Resolution is synchronized: parallel scenario threads wait for the first one instead
+ * of racing to download the same binary.
+ */
+public final class DriverBinaries {
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.\\d+\\.\\d+\\.\\d+");
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+    private static final String DRIVER_FILE = WINDOWS ? "chromedriver.exe" : "chromedriver";
+
+    private static final String KEY_BROWSER = "chrome.version";
+    private static final String KEY_DRIVER = "chromedriver.path";
+    private static final String KEY_SOURCE = "chromedriver.source";
+
+    private static boolean resolved;
+    private static Path chromedriver;
+
+    private DriverBinaries() { /* utility class */ }
+
+    /**
+     * Path of a chromedriver matching the installed Chrome (resolved on the first call only),
+     * or null if none could be found and Selenium should locate one itself.
+     */
+    public static synchronized Path chromedriver() {
+        if (!resolved) {
+            long start = System.nanoTime();
+            try {
+                chromedriver = resolve();
+            } finally {
+                resolved = true;
+                Metrics.record("driver.resolve", System.nanoTime() - start);
+            }
+            if (chromedriver != null) {
+                System.setProperty("webdriver.chrome.driver", chromedriver.toString());
+            }
+        }
+        return chromedriver;
+    }
+
+    // =========================
+    // Resolution
+    // =========================
+
+    private static Path resolve() {
+        String preset = System.getProperty("webdriver.chrome.driver");
+        if (preset != null && Files.isRegularFile(Path.of(preset))) {
+            return found("property", Path.of(preset));
+        }
+
+        String browser = browserVersion();
+        Path manifestFile = Config.get().getDriverManifest();
+        Properties manifest = load(manifestFile);
+        String cached = manifest.getProperty(KEY_DRIVER);
+        if (cached != null && Files.isRegularFile(Path.of(cached))
+                && (browser == null || browser.equals(manifest.getProperty(KEY_BROWSER)))) {
+            return found("manifest", Path.of(cached));
+        }
+
+        String offlineDir = Config.get().getDriverOfflineDir();
+        Path driver = offlineDir == null ? null : fromDirectory(Path.of(offlineDir), browser);
+        String source = "offline";
+        if (driver == null && !Config.get().isDriverOffline()) {
+            driver = fromWebDriverManager(browser);
+            source = "webdrivermanager";
+        }
+        if (driver == null) {
+            Metrics.increment("driver.resolve.none");
+            System.err.println("No chromedriver resolved for Chrome " + (browser == null ? "(version unknown)" : browser)
+                    + "; leaving it to Selenium Manager / PATH");
+            return null;
+        }
+
+        manifest.setProperty(KEY_DRIVER, driver.toAbsolutePath().toString());
+        manifest.setProperty(KEY_SOURCE, source);
+        if (browser != null) manifest.setProperty(KEY_BROWSER, browser);
+        else manifest.remove(KEY_BROWSER);
+        save(manifestFile, manifest);
+        return found(source, driver);
+    }
+
+    private static Path found(String source, Path driver) {
+        Metrics.increment("driver.resolve." + source);
+        return driver;
+    }
+
+    /** Newest chromedriver under {@code dir} whose major version matches the browser (any, if that is unknown). */
+    static Path fromDirectory(Path dir, String browser) {
+        if (!Files.isDirectory(dir)) return null;
+        String major = major(browser);
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(dir, 4)) {
+            candidates = files.filter(p -> p.getFileName().toString().equals(DRIVER_FILE) && Files.isRegularFile(p))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            System.err.println("Could not scan driver directory " + dir + ": " + e.getMessage());
+            return null;
+        }
+        return candidates.stream()
+                .filter(p -> major == null || major.equals(major(driverVersion(p))))
+                .max(Comparator.comparingInt(p -> {
+                    String m = major(driverVersion(p));
+                    return m == null ? -1 : Integer.parseInt(m);
+                }))
+                .orElse(null);
+    }
+
+    private static Path fromWebDriverManager(String browser) {
+        try {
+            WebDriverManager wdm = WebDriverManager.chromedriver();
+            if (browser != null) wdm.browserVersion(major(browser));
+            wdm.setup();
+            String path = wdm.getDownloadedDriverPath();
+            return path == null ? null : Path.of(path);
+        } catch (RuntimeException e) {
+            System.err.println("WebDriverManager could not resolve chromedriver: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // =========================
+    // Versions
+    // =========================
+
+    /** Installed Chrome's full version ("131.0.6778.85"), or null if it cannot be determined. */
+    static String browserVersion() {
+        String binary = Config.get().getChromeBinary();
+        List<List<String>> commands = new ArrayList<>();
+        if (binary != null) commands.add(List.of(binary, "--version"));
+        if (WINDOWS) {
+            commands.add(List.of("reg", "query", "HKCU\\Software\\Google\\Chrome\\BLBeacon", "/v", "version"));
+            commands.add(List.of("reg", "query", "HKLM\\Software\\Google\\Chrome\\BLBeacon", "/v", "version"));
+        } else {
+            commands.add(List.of("/Applications/Google Chrome.app/Contents/MacOS/Google Chrome", "--version"));
+            for (String name : List.of("google-chrome", "google-chrome-stable", "chromium", "chromium-browser")) {
+                commands.add(List.of(name, "--version"));
+            }
+        }
+        for (List<String> command : commands) {
+            String version = version(run(command));
+            if (version != null) return version;
+        }
+        return null;
+    }
+
+    /** Version of a chromedriver binary: from its directory name if that is a version, else from --version. */
+    private static String driverVersion(Path driver) {
+        Path dir = driver.getParent() == null ? null : driver.getParent().getFileName();
+        String version = version(dir == null ? null : dir.toString());
+        return version != null ? version : version(run(List.of(driver.toString(), "--version")));
+    }
+
+    private static String version(String text) {
+        if (text == null) return null;
+        Matcher m = VERSION.matcher(text);
+        return m.find() ? m.group() : null;
+    }
+
+    private static String major(String version) {
+        if (version == null) return null;
+        Matcher m = VERSION.matcher(version);
+        return m.find() ? m.group(1) : null;
+    }
+
+    /** Output of a short command, or null if it is missing, fails or hangs. */
+    private static String run(List<String> command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String out = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return process.exitValue() == 0 ? out : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // =========================
+    // Manifest
+    // =========================
+
+    private static Properties load(Path file) {
+        Properties props = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable driver manifest " + file + ": " + e.getMessage());
+            }
+        }
+        return props;
+    }
+
+    /** Write via a temp file and rename, so another JVM never reads a half-written manifest. */
+    private static void save(Path file, Properties props) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "driver-manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                props.store(out, "resolved " + Instant.now());
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the driver is resolved for this JVM either way; the next run just resolves again
+            System.err.println("Could not write driver manifest " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebDriverBuilder;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+/**
+ * Starts the browser sessions that {@link DriverPool} hands out.
+ * Without grid.url ({@link Config}) a local ChromeDriver is launched, using the binary found by {@link DriverBinaries}. With grid.url=http://hub:4444 the session is
+ * requested from a Selenium Grid instead:
+ * <ul>
+ *   <li>the profile's ChromeOptions are the preferred match; grid.browserVersion / grid.platform pin it
+ *       further, with the unpinned options as a fallback alternative so the Grid can still place the session;</li>
+ *   <li>every remote session shares one ClientConfig (timeouts), and each session keeps its
+ *       HTTP connection alive between commands;</li>
+ *   <li>remote drivers are augmented, so CDP-based features (resource blocking, network waits) keep working.</li>
+ * </ul>
+ * grid.readTimeoutSeconds (default 300) bounds a command, including a new-session request queued on the Grid.
+ */
+public final class DriverFactory {
+
+    /** Shared by every remote session (timeouts); the Grid address is given per builder. */
+    private static final ClientConfig CLIENT_CONFIG = ClientConfig.defaultConfig()
+            .connectionTimeout(Config.get().getHttpConnectTimeout())
+            .readTimeout(Config.get().getGridReadTimeout());
+
+    private DriverFactory() { /* utility class */ }
+
+    public static WebDriver create(BrowserProfile profile) {
+        String gridUrl = Config.get().getGridUrl();
+        boolean remote = gridUrl != null;
+
+        long start = System.nanoTime();
+        WebDriver driver = remote ? createRemote(profile, gridUrl) : createLocal(profile);
+        Metrics.record(remote ? "driver.create.remote" : "driver.create.local", System.nanoTime() - start);
+
+        try {
+            profile.afterStart(driver);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        return driver;
+    }
+
+    private static WebDriver createLocal(BrowserProfile profile) {
+        DriverBinaries.chromedriver(); // resolved once per JVM, then a no-op
+        return new ChromeDriver(profile.options());
+    }
+
+    private static WebDriver createRemote(BrowserProfile profile, String gridUrl) {
+        ChromeOptions preferred = profile.options();
+        String version = Config.get().getGridBrowserVersion();
+        String platform = Config.get().getGridPlatform();
+        if (version != null) preferred.setBrowserVersion(version);
+        if (platform != null) preferred.setPlatformName(platform);
+
+        RemoteWebDriverBuilder builder = RemoteWebDriver.builder()
+                .oneOf(preferred)
+                .address(gridUrl)
+                .config(CLIENT_CONFIG)
+                .augmentUsing(new Augmenter());
+        if (version != null || platform != null) {
+            builder.addAlternative(profile.options()); // any node with this browser, if none matches the pin
+        }
+        return builder.build();
+    }
+}
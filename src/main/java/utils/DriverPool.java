@@ -0,0 +1,270 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of warm browser sessions.
+ * A scenario leases a driver and gives it back when done; the session is then reset
+ * (alerts, extra windows, cookies, storage) and kept for the next lease instead of quitting.
+ * Idle sessions are evicted after a timeout and crashed sessions are recycled on lease.
+ * Sessions are launched for a {@link BrowserProfile} and only reused for leases of the same profile;
+ * when the pool is full, an idle session of another profile is quit to make room.
+ */
+public final class DriverPool {
+
+    private final Function<BrowserProfile, WebDriver> factory;
+    private final int maxSize;
+    private final Duration idleTimeout;
+    private final Duration leaseTimeout;
+
+    private final Semaphore permits;
+    private final Deque<IdleSession> idle = new ArrayDeque<>(); // guarded by this
+    /** Sessions that exist or are being launched, leased or idle; never above maxSize. Guarded by this. */
+    private int sessions;
+    private final Map<WebDriver, BrowserProfile> live = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    public DriverPool(Function<BrowserProfile, WebDriver> factory, int maxSize, Duration idleTimeout, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1 but was " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "driver-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, idleTimeout.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // =========================
+    // Lease / release
+    // =========================
+
+    /**
+     * Lease a healthy session of the given profile, reusing the most recently returned one when possible.
+     * Blocks while all {@code maxSize} sessions are leased.
+     */
+    public WebDriver lease(BrowserProfile profile) {
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(
+                        "No browser session became free within " + leaseTimeout.toSeconds()
+                                + "s (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            IdleSession candidate;
+            while ((candidate = pollIdle(profile)) != null) {
+                if (isHealthy(candidate.driver)) {
+                    return candidate.driver;
+                }
+                destroy(candidate.driver);
+            }
+            // the slot is taken before launching, so parallel leases cannot both launch into the last one
+            reserveSlot().forEach(DriverPool::quit);
+            WebDriver created;
+            try {
+                created = factory.apply(profile);
+            } catch (RuntimeException e) {
+                releaseSlot();
+                throw e;
+            }
+            live.put(created, profile);
+            return created;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a leased session. It is reset and parked for reuse, or quit if the reset fails.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) return;
+        try {
+            if (reset(driver)) {
+                synchronized (this) {
+                    idle.push(new IdleSession(driver, live.get(driver), System.nanoTime()));
+                }
+            } else {
+                destroy(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Quit a leased session instead of returning it (e.g. caller knows the browser is broken). */
+    public void discard(WebDriver driver) {
+        if (driver == null) return;
+        try {
+            destroy(driver);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Quit every session owned by the pool, leased or idle. */
+    public void shutdown() {
+        evictor.shutdownNow();
+        synchronized (this) {
+            idle.clear();
+        }
+        for (WebDriver driver : new ArrayList<>(live.keySet())) {
+            destroy(driver);
+        }
+    }
+
+    // =========================
+    // Internals
+    // =========================
+
+    /** Most recently returned idle session of the profile (warmest caches), or null. */
+    private synchronized IdleSession pollIdle(BrowserProfile profile) {
+        Iterator<IdleSession> it = idle.iterator();
+        while (it.hasNext()) {
+            IdleSession s = it.next();
+            if (s.profile == profile) {
+                it.remove();
+                return s;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Count a session about to be launched. If the pool is full, the oldest idle sessions (of other profiles,
+     * since the lease found none of its own) give up their slots; they are returned to be quit by the caller.
+     * Leased sessions are capped by the permits, so a full pool always has an idle session to give.
+     */
+    private synchronized List<WebDriver> reserveSlot() {
+        List<WebDriver> evicted = new ArrayList<>();
+        IdleSession oldest;
+        while (sessions >= maxSize && (oldest = idle.pollLast()) != null) {
+            live.remove(oldest.driver);
+            sessions--;
+            evicted.add(oldest.driver);
+        }
+        sessions++;
+        return evicted;
+    }
+
+    private synchronized void releaseSlot() {
+        sessions--;
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        List<WebDriver> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<IdleSession> it = idle.iterator();
+            while (it.hasNext()) {
+                IdleSession s = it.next();
+                if (now - s.returnedAtNanos >= idleTimeout.toNanos()) {
+                    expired.add(s.driver);
+                    it.remove();
+                }
+            }
+        }
+        expired.forEach(this::destroy);
+    }
+
+    private void destroy(WebDriver driver) {
+        if (live.remove(driver) != null) releaseSlot();
+        quit(driver);
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+            // browser already gone
+        }
+    }
+
+    /** Cheap round-trip that fails when the browser or driver process has died. */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bring a used session back to a neutral state: no alert, a single window, no cookies or web storage.
+     * The document is left in place: the next scenario's page open can reuse it if it is still clean
+     * (see {@link PageState}), and cleared cookies make a logged-in page count as dirty.
+     */
+    static boolean reset(WebDriver driver) {
+        try {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException ignored) {
+            }
+
+            Set<String> handles = driver.getWindowHandles();
+            String keep = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(keep)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(keep);
+
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static final class IdleSession {
+        final WebDriver driver;
+        final BrowserProfile profile;
+        final long returnedAtNanos;
+
+        IdleSession(WebDriver driver, BrowserProfile profile, long returnedAtNanos) {
+            this.driver = driver;
+            this.profile = profile;
+            this.returnedAtNanos = returnedAtNanos;
+        }
+    }
+}
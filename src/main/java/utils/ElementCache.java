@@ -0,0 +1,95 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolved WebElements keyed by locator and {@link PageGeneration}.
+ * A lookup is reused until the page navigates or the element goes stale; only then is it re-resolved.
+ * Not thread-safe: one instance per Helpers, and Helpers are used from their scenario's thread.
+ */
+public class ElementCache {
+
+    /** Attempts made by the stale-retry helpers (first try + re-resolutions). */
+    public static final int STALE_ATTEMPTS = 3;
+
+    private final WebDriver driver;
+    private final Map<By, Entry> entries = new HashMap<>();
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Cached element for the locator on the current page, locating it if needed. */
+    public WebElement get(By locator) {
+        Entry entry = entries.get(locator);
+        long generation = PageGeneration.current();
+        if (entry == null || entry.generation != generation) {
+            entry = new Entry(driver.findElement(locator), generation);
+            entries.put(locator, entry);
+            Metrics.increment("elementCache.miss");
+        } else {
+            Metrics.increment("elementCache.hit");
+        }
+        return entry.element;
+    }
+
+    /** Remember an element that was already located (e.g. returned by a wait). */
+    public WebElement put(By locator, WebElement element) {
+        entries.put(locator, new Entry(element, PageGeneration.current()));
+        return element;
+    }
+
+    public void invalidate(By locator) {
+        entries.remove(locator);
+    }
+
+    /**
+     * Run the action on the cached element; if the reference turns out stale,
+     * drop it, re-locate and try again (up to {@link #STALE_ATTEMPTS} times in total).
+     */
+    public <T> T with(By locator, Function<WebElement, T> action) {
+        StaleElementReferenceException last = null;
+        for (int attempt = 0; attempt < STALE_ATTEMPTS; attempt++) {
+            try {
+                return action.apply(get(locator));
+            } catch (StaleElementReferenceException e) {
+                last = e;
+                invalidate(locator);
+                Metrics.increment("elementCache.stale");
+            }
+        }
+        throw last;
+    }
+
+    /** Shared stale-retry for reads that locate their own elements (e.g. findElements + loop). */
+    public static <T> T retryOnStale(Supplier<T> action) {
+        StaleElementReferenceException last = null;
+        for (int attempt = 0; attempt < STALE_ATTEMPTS; attempt++) {
+            try {
+                return action.get();
+            } catch (StaleElementReferenceException e) {
+                last = e;
+                Metrics.increment("elementCache.stale");
+            }
+        }
+        throw last;
+    }
+
+    private static final class Entry {
+        final WebElement element;
+        final long generation;
+
+        Entry(WebElement element, long generation) {
+            this.element = element;
+            this.generation = generation;
+        }
+    }
+}
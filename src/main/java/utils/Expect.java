@@ -0,0 +1,18 @@
+package utils;
+
+/**
+ * Which answer a presence/visibility check expects, and therefore which answer it is allowed to make slow.
+ * See {@link Helpers#elementExists(org.openqa.selenium.By, Expect)} and
+ * {@link Helpers#isDisplayed(org.openqa.selenium.WebElement, Expect)}.
+ */
+public enum Expect {
+
+    /** The element should be there: wait for it up to the timeout; a missing element costs the whole wait. */
+    PRESENT,
+
+    /**
+     * The element may well be missing: check once without waiting, let the page go quiet for a short window
+     * (DOM mutations and fetch/XHR), then check again. A match on the first look is reported at once.
+     */
+    ABSENT
+}
@@ -0,0 +1,80 @@
+package utils;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * What kind of failure a UI action hit, and how {@link RetryPolicy} treats it by default.
+ * Transient DOM races (re-render, overlay, element not yet interactable) are retried with backoff;
+ * an expired wait has already spent its whole timeout and a dead browser will not come back, so those fail at once.
+ */
+public enum FailureClass {
+
+    /** The element was re-rendered between lookup and use. */
+    STALE(3, Duration.ofMillis(50)),
+    /** Another element (modal fade, backdrop, toast) received the click. */
+    INTERCEPTED(3, Duration.ofMillis(150)),
+    /** Present but not yet usable (hidden, disabled, animating in). */
+    NOT_INTERACTABLE(3, Duration.ofMillis(150)),
+    /** A wait expired; retrying would only spend the timeout again. */
+    TIMEOUT(1, Duration.ZERO),
+    /** The locator matched nothing (after any wait that preceded the action). */
+    NOT_FOUND(1, Duration.ZERO),
+    /** The session or browser is gone; every further command fails the same way. */
+    DRIVER_CRASH(1, Duration.ZERO),
+    /** Anything else: a bug in the test or the page, not a race. */
+    FATAL(1, Duration.ZERO);
+
+    private final int attempts;
+    private final Duration backoff;
+
+    FailureClass(int attempts, Duration backoff) {
+        this.attempts = attempts;
+        this.backoff = backoff;
+    }
+
+    /** Default number of attempts in total (1 = no retry). */
+    public int defaultAttempts() {
+        return attempts;
+    }
+
+    /** Default delay before the first retry; doubled for each further one. */
+    public Duration defaultBackoff() {
+        return backoff;
+    }
+
+    /** Metric-friendly name, e.g. "driver_crash". */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static FailureClass of(Throwable t) {
+        // order matters: ElementClickInterceptedException is an ElementNotInteractableException
+        if (t instanceof StaleElementReferenceException) return STALE;
+        if (t instanceof ElementClickInterceptedException) return INTERCEPTED;
+        if (t instanceof ElementNotInteractableException) return NOT_INTERACTABLE;
+        if (t instanceof TimeoutException) return TIMEOUT;
+        if (t instanceof NoSuchElementException) return NOT_FOUND;
+        if (t instanceof NoSuchSessionException || t instanceof SessionNotCreatedException
+                || t instanceof UnreachableBrowserException) return DRIVER_CRASH;
+        if (t instanceof WebDriverException && isCrashMessage(t.getMessage())) return DRIVER_CRASH;
+        return FATAL;
+    }
+
+    private static boolean isCrashMessage(String message) {
+        if (message == null) return false;
+        String m = message.toLowerCase(Locale.ROOT);
+        return m.contains("chrome not reachable") || m.contains("disconnected: ")
+                || m.contains("session deleted") || m.contains("target window already closed");
+    }
+}
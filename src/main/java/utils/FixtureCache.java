@@ -0,0 +1,100 @@
+package utils;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Run-wide cache of read-only test data (catalog contents, reference tables) that is expensive to produce
+ * and the same for every scenario.
+ * <ul>
+ *   <li>A key is loaded once; parallel scenarios asking for it meanwhile wait for that load instead of
+ *       repeating it. A failed load is not cached.</li>
+ *   <li>A key can depend on other keys; invalidating a key also drops everything that depends on it,
+ *       transitively. {@link #STOREFRONT} is invalidated whenever the storefront under test changes.</li>
+ *   <li>Scenarios tagged {@code @invalidate:<key>} drop that key before they run (see Hooks).</li>
+ * </ul>
+ * Values must be immutable: they are handed to every scenario as-is.
+ * Counted in Metrics as {@code fixture.hit} / {@code fixture.miss}, with load times as {@code fixture.load}.
+ */
+public final class FixtureCache {
+
+    /** Root of everything read from the storefront; switching between live and local site invalidates it. */
+    public static final String STOREFRONT = "storefront";
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final Map<String, Set<String>> DEPENDENTS = new ConcurrentHashMap<>();
+
+    private FixtureCache() { /* utility class */ }
+
+    public static <T> T get(String key, Supplier<T> loader) {
+        return get(key, List.of(), loader);
+    }
+
+    /** Cached value for the key, loading it with {@code loader} on first use. */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(String key, Collection<String> dependsOn, Supplier<T> loader) {
+        return (T) entry(key, dependsOn).get(loader);
+    }
+
+    /** Store a value the caller has just produced anyway, replacing any cached one. */
+    public static void put(String key, Collection<String> dependsOn, Object value) {
+        entry(key, dependsOn).set(value);
+    }
+
+    private static Entry entry(String key, Collection<String> dependsOn) {
+        for (String dependency : dependsOn) {
+            DEPENDENTS.computeIfAbsent(dependency, d -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        return ENTRIES.computeIfAbsent(key, k -> new Entry());
+    }
+
+    /** Drop the key and, transitively, every key that depends on it. */
+    public static void invalidate(String key) {
+        Deque<String> pending = new ArrayDeque<>(List.of(key));
+        Set<String> seen = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String next = pending.pop();
+            if (!seen.add(next)) continue;
+            if (ENTRIES.remove(next) != null) Metrics.increment("fixture.invalidated");
+            pending.addAll(DEPENDENTS.getOrDefault(next, Set.of()));
+        }
+    }
+
+    public static void clear() {
+        ENTRIES.clear();
+        DEPENDENTS.clear();
+    }
+
+    private static final class Entry {
+        private boolean loaded;
+        private Object value;
+
+        synchronized Object get(Supplier<?> loader) {
+            if (loaded) {
+                Metrics.increment("fixture.hit");
+                return value;
+            }
+            Metrics.increment("fixture.miss");
+            long start = System.nanoTime();
+            try {
+                value = loader.get();
+                loaded = true;
+                return value;
+            } finally {
+                Metrics.record("fixture.load", System.nanoTime() - start);
+            }
+        }
+
+        synchronized void set(Object value) {
+            this.value = value;
+            loaded = true;
+        }
+    }
+}
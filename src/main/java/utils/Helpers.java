@@ -6,6 +6,8 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 /**
  * Common UI helper methods wrapped around WebDriver + WebDriverWait.
@@ -14,27 +16,69 @@ import java.time.Duration;
 public class Helpers {
 
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final Duration timeout;
+    /** Poll interval for waits without learned history (see {@link AdaptiveTimeouts}). */
+    private final Duration defaultPoll;
+    /** How long the page must be quiet, and the most we wait for that, before an {@link Expect#ABSENT} re-check. */
+    private final Duration settleQuiet;
+    private final Duration settleMax;
+    /** Poll interval of {@link #firstOutcome(String, Function)}: its probes are cheap lookups racing each other. */
+    private final Duration outcomePoll;
+    private final DomWaits domWaits;
+    private final NetworkWaits networkWaits;
+    private final ElementCache elements;
+    private final RetryPolicy retry = RetryPolicy.standard();
 
     /**
-     * Convenience constructor that uses a sensible default timeout (15 seconds).
+     * Convenience constructor using the run's {@link Config}.
      */
     public Helpers(WebDriver driver) {
-        this(driver, 15L);
+        this(driver, Config.get());
     }
 
     /**
-     * Primary constructor. Accepts a timeout in seconds (nullable).
+     * Uses the config's timeout, but {@code timeoutSeconds} instead when given.
      *
      * @param driver WebDriver instance
-     * @param timeoutSeconds timeout in seconds (if null, defaults to 15)
+     * @param timeoutSeconds timeout in seconds (if null, wait.timeoutSeconds from the config)
      */
     public Helpers(WebDriver driver, Long timeoutSeconds) {
+        this(driver, Config.get(), timeoutSeconds == null ? null : Duration.ofSeconds(timeoutSeconds));
+    }
+
+    /**
+     * Primary constructor: timeout and poll intervals come from {@code config}; waits with learned history
+     * ({@link AdaptiveTimeouts}) use a shorter budget, never a longer one.
+     */
+    public Helpers(WebDriver driver, Config config) {
+        this(driver, config, null);
+    }
+
+    private Helpers(WebDriver driver, Config config, Duration timeout) {
         this.driver = driver;
-        long t = (timeoutSeconds == null) ? 15L : timeoutSeconds;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(t));
-        this.wait.pollingEvery(Duration.ofMillis(200));
-        this.wait.ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
+        this.timeout = timeout != null ? timeout : config.getWaitTimeout();
+        this.defaultPoll = config.getWaitPoll();
+        this.settleQuiet = config.getSettleQuiet();
+        this.settleMax = config.getSettleMax();
+        this.outcomePoll = config.getOutcomePoll();
+        this.domWaits = new DomWaits(driver, this.timeout);
+        this.networkWaits = new NetworkWaits(driver, domWaits);
+        this.elements = new ElementCache(driver);
+    }
+
+    /** In-page, event-driven waits sharing this helper's timeout. */
+    public DomWaits dom() {
+        return domWaits;
+    }
+
+    /** Waits on the page's fetch/XHR traffic, sharing this helper's timeout. */
+    public NetworkWaits network() {
+        return networkWaits;
+    }
+
+    /** Locator-keyed element handles reused until navigation or staleness. */
+    public ElementCache elements() {
+        return elements;
     }
 
     // =========================
@@ -54,6 +98,23 @@ public class Helpers {
         }
     }
 
+    /** Wait until clickable, then click the element the wait returned (no second lookup). */
+    public void click(By locator) {
+        elements.put(locator, await("clickable", locator, ExpectedConditions.elementToBeClickable(locator)));
+        elements.with(locator, e -> {
+            clickOrJsClick(e);
+            return null;
+        });
+    }
+
+    private void clickOrJsClick(WebElement element) {
+        try {
+            element.click();
+        } catch (ElementClickInterceptedException e) {
+            jsClick(element);
+        }
+    }
+
     public void jsClick(WebElement element) {
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].click();", element);
@@ -75,9 +136,17 @@ public class Helpers {
         element.sendKeys(text);
     }
 
+    /**
+     * Visibility probe: false once the element's learned budget runs out (the fixed timeout without history).
+     * Use {@link #isDisplayed(WebElement, Expect)} with PRESENT when the element has to show up.
+     */
     public boolean isDisplayed(WebElement element) {
+        return visible(element, true);
+    }
+
+    private boolean visible(WebElement element, boolean probe) {
         try {
-            waitUntilVisible(element);
+            await("visibility", element, ExpectedConditions.visibilityOf(element), probe);
             return element.isDisplayed();
         } catch (TimeoutException | NoSuchElementException e) {
             return false;
@@ -89,36 +158,143 @@ public class Helpers {
     // =========================
 
     public void waitUntilVisible(By locator) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        elements.put(locator, await("visibility", locator, ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     public void waitUntilVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        await("visibility", element, ExpectedConditions.visibilityOf(element));
     }
 
     public void waitUntilClickable(By locator) {
-        wait.until(ExpectedConditions.elementToBeClickable(locator));
+        elements.put(locator, await("clickable", locator, ExpectedConditions.elementToBeClickable(locator)));
     }
 
     public void waitUntilClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        await("clickable", element, ExpectedConditions.elementToBeClickable(element));
     }
 
     public void waitForUrlContains(String partial) {
-        wait.until(ExpectedConditions.urlContains(partial));
+        await("url", ExpectedConditions.urlContains(partial));
     }
 
+    /**
+     * Presence probe: false once the locator's learned budget runs out (the fixed timeout without history).
+     * Use {@link #elementExists(By, Expect)} with PRESENT when the element has to show up.
+     */
     public boolean elementExists(By locator) {
+        return present(locator, true);
+    }
+
+    private boolean present(By locator, boolean probe) {
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            await("presence", locator, ExpectedConditions.presenceOfElementLocated(locator), probe);
             return true;
         } catch (TimeoutException e) {
             return false;
         }
     }
 
+    /** PRESENT waits up to the fixed timeout, past the learned budget; ABSENT is {@link #confirmAbsent(By)}. */
+    public boolean elementExists(By locator, Expect expect) {
+        return expect == Expect.PRESENT ? present(locator, false) : !confirmAbsent(locator);
+    }
+
+    /** PRESENT waits up to the fixed timeout, past the learned budget; ABSENT checks once the page settles. */
+    public boolean isDisplayed(WebElement element, Expect expect) {
+        return expect == Expect.PRESENT ? visible(element, false) : settledCheck("visibility", () -> isDisplayedNow(element));
+    }
+
+    // =========================
+    // Non-waiting checks
+    // =========================
+
+    /** One findElements call, no wait. */
+    public boolean isPresentNow(By locator) {
+        return !driver.findElements(locator).isEmpty();
+    }
+
+    /** Visible right now; a missing or re-rendered element counts as not displayed. No wait. */
+    public boolean isDisplayedNow(WebElement element) {
+        try {
+            return element.isDisplayed();
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            return false;
+        }
+    }
+
+    /**
+     * True if nothing matches now and still nothing matches once the page has settled
+     * (see {@link #settledCheck(String, BooleanSupplier)}).
+     */
+    public boolean confirmAbsent(By locator) {
+        return !settledCheck("presence", () -> isPresentNow(locator));
+    }
+
+    /**
+     * Check, and if the answer is "no", let the page settle (no DOM mutation, no fetch/XHR in flight for
+     * wait.settleQuietMillis, capped at wait.settleMaxMillis) and check once more. Costs one lookup when the
+     * answer is "yes" and typically well under a second when it is not, instead of a full wait timeout.
+     * Outcomes are counted as {@code absence.<kind>.confirmed} / {@code absence.<kind>.late}.
+     */
+    private boolean settledCheck(String kind, BooleanSupplier check) {
+        long start = System.nanoTime();
+        try {
+            if (check.getAsBoolean()) return true;
+            domWaits.waitForQuiet(settleQuiet, settleMax);
+            boolean found = check.getAsBoolean();
+            Metrics.increment("absence." + kind + (found ? ".late" : ".confirmed"));
+            return found;
+        } finally {
+            Metrics.record("absence." + kind, System.nanoTime() - start);
+        }
+    }
+
+    private <T> T await(String kind, Function<? super WebDriver, T> condition) {
+        return await(kind, null, condition, false);
+    }
+
+    private <T> T await(String kind, Object target, Function<? super WebDriver, T> condition) {
+        return await(kind, target, condition, false);
+    }
+
+    /**
+     * Every wait goes through here so the time actually spent blocked is recorded as {@code wait.<kind>}
+     * in {@link Metrics}, with expirations counted as {@code wait.<kind>.timeout}.
+     * Waits on a locator use its learned budget and poll interval from {@link AdaptiveTimeouts}. A probe, where
+     * "not there" is an answer, times out at that budget. A wait that must succeed carries on up to the fixed
+     * timeout (counted as {@code wait.<kind>.adaptiveMiss}), so a slow run costs time rather than a false failure.
+     */
+    private <T> T await(String kind, Object target, Function<? super WebDriver, T> condition, boolean probe) {
+        String key = AdaptiveTimeouts.key(kind, target);
+        Duration budget = AdaptiveTimeouts.timeout(key, timeout);
+        long start = System.nanoTime();
+        try {
+            T result;
+            try {
+                result = newWait(budget, AdaptiveTimeouts.poll(key, defaultPoll)).until(condition);
+            } catch (TimeoutException e) {
+                if (probe || budget.equals(timeout)) throw e;
+                Metrics.increment("wait." + kind + ".adaptiveMiss");
+                result = newWait(timeout.minusNanos(System.nanoTime() - start), defaultPoll).until(condition);
+            }
+            AdaptiveTimeouts.record(key, System.nanoTime() - start);
+            return result;
+        } catch (TimeoutException e) {
+            Metrics.increment("wait." + kind + ".timeout");
+            throw e;
+        } finally {
+            Metrics.record("wait." + kind, System.nanoTime() - start);
+        }
+    }
+
+    private WebDriverWait newWait(Duration limit, Duration poll) {
+        WebDriverWait wait = new WebDriverWait(driver, limit.isNegative() ? Duration.ZERO : limit, poll);
+        wait.ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
+        return wait;
+    }
+
     public void waitForPageLoad() {
-        wait.until((ExpectedCondition<Boolean>) wd ->
+        await("pageLoad", (ExpectedCondition<Boolean>) wd ->
                 ((JavascriptExecutor) wd).executeScript("return document.readyState").equals("complete"));
     }
 
@@ -145,14 +321,14 @@ public class Helpers {
         );
 
         try {
-            WebElement modal = wait.until(
+            WebElement modal = await("modal", visibleModal,
                     ExpectedConditions.visibilityOfElementLocated(visibleModal)
             );
 
             scrollIntoView(modal);
 
             try {
-                WebElement footerClose = wait.until(
+                WebElement footerClose = await("clickable", footerCloseBtn,
                         ExpectedConditions.elementToBeClickable(footerCloseBtn)
                 );
                 try {
@@ -162,7 +338,7 @@ public class Helpers {
                 }
             } catch (TimeoutException | ElementClickInterceptedException e) {
                 try {
-                    WebElement headerClose = wait.until(
+                    WebElement headerClose = await("clickable", headerCloseBtn,
                             ExpectedConditions.elementToBeClickable(headerCloseBtn)
                     );
                     try {
@@ -176,8 +352,11 @@ public class Helpers {
             }
 
             try {
-                Thread.sleep(500);
-            } catch (InterruptedException ignored) {}
+                // returns as soon as the fade-out finishes and the backdrop is gone
+                domWaits.waitForModalHidden();
+            } catch (TimeoutException ignored) {
+                // modal did not close – leave it to the caller's next action to surface
+            }
 
         } catch (TimeoutException e) {
             // No visible modal: do nothing
@@ -188,27 +367,29 @@ public class Helpers {
     // Extra helper actions (NON-BREAKING)
     // =========================
 
-    /** Safe click with wait + JS fallback */
+    /**
+     * Click with wait + JS fallback for intercepted clicks. Transient failures (stale, not yet interactable)
+     * are retried per {@link RetryPolicy}; timeouts and driver crashes are thrown straight away.
+     */
     public void safeClick(WebElement element) {
-        try {
+        retry.run("safeClick", () -> {
             waitUntilClickable(element);
-            element.click();
-        } catch (Exception e) {
-            jsClick(element);
-        }
+            clickOrJsClick(element);
+        });
     }
 
-    /** Safe typing with visibility wait */
+    /** Typing with visibility wait, retried like {@link #safeClick(WebElement)}. */
     public void safeType(WebElement element, String text) {
-        try {
+        retry.run("safeType", () -> {
             waitUntilVisible(element);
             element.clear();
             element.sendKeys(text == null ? "" : text);
-        } catch (Exception ignored) {}
+        });
     }
 
     /** Wait for alert, read text, accept it, return alert text. Returns null if no alert. */
     public String readAndAcceptAlert(long timeoutSeconds) {
+        long start = System.nanoTime();
         try {
             WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
             Alert alert = shortWait.until(ExpectedConditions.alertIsPresent());
@@ -216,32 +397,73 @@ public class Helpers {
             alert.accept();
             return msg;
         } catch (Exception e) {
+            Metrics.increment("wait.alert.timeout");
             return null;
+        } finally {
+            Metrics.record("wait.alert", System.nanoTime() - start);
         }
     }
 
-    /** Wait and click using locator (safe) */
-    public void waitAndClick(By locator) {
+    /** Accept the open alert and return its text, or null if no alert is open. No wait. */
+    public String acceptAlertNow() {
         try {
-            waitUntilClickable(locator);
-            safeClick(driver.findElement(locator));
-        } catch (Exception ignored) {}
+            Alert alert = driver.switchTo().alert();
+            String msg = alert.getText();
+            alert.accept();
+            return msg;
+        } catch (NoAlertPresentException e) {
+            return null;
+        }
     }
 
-    /** Wait and type using locator (safe) */
-    public void waitAndType(By locator, String text) {
+    /**
+     * Poll {@code probe} in one loop (every wait.outcomePollMillis) until it returns non-null, for up to this helper's timeout.
+     * Meant for racing several possible outcomes of an action (alert vs. page change) in one probe, which returns
+     * whichever it sees first. Returns null if nothing happened; recorded as {@code wait.<kind>}.
+     */
+    public <T> T firstOutcome(String kind, Function<? super WebDriver, T> probe) {
+        long start = System.nanoTime();
         try {
+            return newWait(timeout, outcomePoll).until(probe);
+        } catch (TimeoutException e) {
+            Metrics.increment("wait." + kind + ".timeout");
+            return null;
+        } finally {
+            Metrics.record("wait." + kind, System.nanoTime() - start);
+        }
+    }
+
+    /** Wait and click using locator, retried like {@link #safeClick(WebElement)}. */
+    public void waitAndClick(By locator) {
+        retry.run("waitAndClick", () -> click(locator));
+    }
+
+    /** Wait and type using locator, retried like {@link #safeClick(WebElement)}. */
+    public void waitAndType(By locator, String text) {
+        retry.run("waitAndType", () -> {
             waitUntilVisible(locator);
-            safeType(driver.findElement(locator), text);
-        } catch (Exception ignored) {}
+            elements.with(locator, e -> {
+                e.clear();
+                e.sendKeys(text == null ? "" : text);
+                return null;
+            });
+        });
+    }
+
+    /** Wait until visible then return text, re-resolving the locator if the element is re-rendered. */
+    public String waitAndGetText(By locator) {
+        waitUntilVisible(locator);
+        return elements.with(locator, WebElement::getText);
     }
 
-    /** Wait until visible then return text */
+    /** Wait until visible then return text; "" if it never became visible. */
     public String waitAndGetText(WebElement element) {
         try {
-            waitUntilVisible(element);
-            return element.getText();
-        } catch (Exception e) {
+            return retry.call("waitAndGetText", () -> {
+                waitUntilVisible(element);
+                return element.getText();
+            });
+        } catch (TimeoutException e) {
             return "";
         }
     }
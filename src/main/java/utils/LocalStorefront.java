@@ -0,0 +1,322 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for the demoblaze storefront so the suite can run without network.
+ * Serves static copies of the pages from {@code storefront/} on the classpath and fakes the JSON API
+ * ({@code /entries}, {@code /bycat}, {@code /pagination}, {@code /view}, {@code /login}, {@code /signup},
+ * {@code /check}, cart calls) on the same origin, with the catalog from Product.feature.
+ * Start it with {@link #start()}; {@link Storefront} then points page objects at it.
+ */
+public final class LocalStorefront {
+
+    private static final String RESOURCE_ROOT = "storefront/";
+    private static final Pattern INCLUDE = Pattern.compile("<!--#include (\\S+) -->");
+    private static final int PAGE_SIZE = 9;
+    private static final Json JSON = new Json();
+
+    private static final List<Map<String, Object>> CATALOG = List.of(
+            item(1, "Samsung galaxy s6", 360, "phone", "galaxy_s6"),
+            item(2, "Nokia lumia 1520", 820, "phone", "Lumia_1520"),
+            item(3, "Nexus 6", 650, "phone", "Nexus_6"),
+            item(4, "Samsung galaxy s7", 800, "phone", "galaxy_s7"),
+            item(5, "Iphone 6 32gb", 790, "phone", "iphone_6"),
+            item(6, "Sony xperia z5", 320, "phone", "xperia_z5"),
+            item(7, "HTC One M9", 700, "phone", "HTC_M9"),
+            item(8, "Sony vaio i5", 790, "notebook", "sony_vaio_5"),
+            item(9, "Sony vaio i7", 790, "notebook", "sony_vaio_7"),
+            item(10, "Apple monitor 24", 400, "monitor", "apple_cinema"),
+            item(11, "MacBook air", 700, "notebook", "macbook_air"),
+            item(12, "Dell i7 8gb", 700, "notebook", "dell_i7"),
+            item(13, "2017 Dell 15.6 Inch", 700, "notebook", "dell_15"),
+            item(14, "ASUS VS247H-P 23.6- Inch Full HD", 230, "monitor", "asusm"),
+            item(15, "MacBook Pro", 1100, "notebook", "macbook_pro"));
+
+    /** Accounts the feature files expect to exist (login success, "user already exists" on signup). */
+    private static final Map<String, String> SEEDED_USERS = Map.of(
+            "pavanol", "test@123",
+            "jinith", "234",
+            "July", "J123");
+
+    private static final Map<String, String> USERS = new ConcurrentHashMap<>(SEEDED_USERS);
+    private static final Map<String, String> TOKENS = new ConcurrentHashMap<>();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String baseUrl;
+
+    private LocalStorefront() { /* utility class */ }
+
+    // =========================
+    // Lifecycle
+    // =========================
+
+    /** Start on store.localPort (default: any free port) if not running, and return the base URL. */
+    public static synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+        try {
+            InetAddress loopback = InetAddress.getLoopbackAddress();
+            server = HttpServer.create(new InetSocketAddress(loopback, Config.get().getStoreLocalPort()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start local storefront", e);
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "local-storefront");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", LocalStorefront::handle);
+        server.start();
+
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+        Storefront.useLocal(baseUrl);
+        return baseUrl;
+    }
+
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        baseUrl = null;
+        Storefront.useLocal(null);
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    // =========================
+    // Routing
+    // =========================
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+
+            if ("OPTIONS".equals(method)) {
+                send(exchange, 204, null, new byte[0]);
+            } else if ("POST".equals(method)) {
+                handleApi(exchange, path.substring(1));
+            } else if (path.startsWith("/imgs/")) {
+                sendPlaceholderImage(exchange, path.substring("/imgs/".length()));
+            } else {
+                sendResource(exchange, "/".equals(path) ? "index.html" : path.substring(1));
+            }
+        }
+    }
+
+    private static void handleApi(HttpExchange exchange, String endpoint) throws IOException {
+        Map<String, Object> body = readJson(exchange);
+        Object response;
+        switch (endpoint) {
+            case "entries":
+                response = page(0);
+                break;
+            case "pagination":
+                response = page(Integer.parseInt(String.valueOf(body.getOrDefault("id", "0"))));
+                break;
+            case "bycat":
+                response = Map.of("Items", CATALOG.stream()
+                        .filter(i -> i.get("cat").equals(body.get("cat")))
+                        .collect(Collectors.toList()));
+                break;
+            case "view":
+                response = CATALOG.stream()
+                        .filter(i -> String.valueOf(i.get("id")).equals(String.valueOf(body.get("id"))))
+                        .findFirst()
+                        .orElse(Map.of("errorMessage", "Item not found."));
+                break;
+            case "login":
+                response = login(String.valueOf(body.get("username")), decode(body.get("password")));
+                break;
+            case "signup":
+                response = signup(String.valueOf(body.get("username")), decode(body.get("password")));
+                break;
+            case "check":
+                response = check(String.valueOf(body.get("token")));
+                break;
+            case "viewcart":
+                response = Map.of("Items", List.of());
+                break;
+            case "addtocart":
+            case "deleteitem":
+            case "deletecart":
+                response = "";
+                break;
+            default:
+                send(exchange, 404, "application/json", JSON.toJson(Map.of("errorMessage", "Unknown endpoint.")));
+                return;
+        }
+        send(exchange, 200, "application/json", JSON.toJson(response));
+    }
+
+    // =========================
+    // Fake API
+    // =========================
+
+    private static Map<String, Object> page(int afterId) {
+        List<Map<String, Object>> items = CATALOG.stream()
+                .filter(i -> (Integer) i.get("id") > afterId)
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("Items", items);
+        if (!items.isEmpty()) {
+            result.put("LastEvaluatedKey", Map.of("id", String.valueOf(items.get(items.size() - 1).get("id"))));
+        }
+        return result;
+    }
+
+    private static Object login(String username, String password) {
+        String expected = USERS.get(username);
+        if (expected == null) {
+            return Map.of("errorMessage", "User does not exist.");
+        }
+        if (!expected.equals(password)) {
+            return Map.of("errorMessage", "Wrong password.");
+        }
+        String token = Base64.getEncoder().encodeToString(
+                (username + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        TOKENS.put(token, username);
+        return "Auth_token: " + token;
+    }
+
+    private static Object signup(String username, String password) {
+        if (USERS.putIfAbsent(username, password) != null) {
+            return Map.of("errorMessage", "This user already exist.");
+        }
+        return "";
+    }
+
+    private static Object check(String token) {
+        String username = TOKENS.get(token);
+        if (username == null) {
+            return Map.of("errorMessage", "Token has expired.");
+        }
+        return Map.of("Item", Map.of("token", token, "username", username));
+    }
+
+    private static String decode(Object base64) {
+        if (base64 == null) return "";
+        try {
+            return new String(Base64.getDecoder().decode(String.valueOf(base64)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return String.valueOf(base64);
+        }
+    }
+
+    private static Map<String, Object> item(int id, String title, double price, String cat, String img) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("cat", cat);
+        item.put("desc", title + " - seeded product for the local storefront.");
+        item.put("id", id);
+        item.put("img", "imgs/" + img + ".jpg");
+        item.put("price", price);
+        item.put("title", title);
+        return item;
+    }
+
+    // =========================
+    // Static content
+    // =========================
+
+    private static void sendResource(HttpExchange exchange, String path) throws IOException {
+        byte[] content = path.contains("..") ? null : readResource(path);
+        if (content == null) {
+            send(exchange, 404, "text/plain", "Not found: " + path);
+            return;
+        }
+        if (path.endsWith(".html")) {
+            content = expandIncludes(new String(content, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        }
+        send(exchange, 200, contentType(path), content);
+    }
+
+    /** Pages share the navbar and modals through {@code <!--#include file -->} markers. */
+    private static String expandIncludes(String html) throws IOException {
+        Matcher m = INCLUDE.matcher(html);
+        StringBuilder out = new StringBuilder();
+        while (m.find()) {
+            byte[] part = readResource(m.group(1));
+            String replacement = part == null ? "" : new String(part, StandardCharsets.UTF_8);
+            m.appendReplacement(out, Matcher.quoteReplacement(replacement));
+        }
+        m.appendTail(out);
+        return out.toString();
+    }
+
+    /** Product and carousel images are generated so the stub needs no binary assets. */
+    private static void sendPlaceholderImage(HttpExchange exchange, String name) throws IOException {
+        String label = name.replaceAll("\\.[a-z]+$", "").replaceAll("[^A-Za-z0-9 _-]", "");
+        String svg = "<svg xmlns='http://www.w3.org/2000/svg' width='400' height='300'>"
+                + "<rect width='100%' height='100%' fill='#e9ecef'/>"
+                + "<text x='50%' y='50%' text-anchor='middle' font-family='sans-serif' font-size='24' fill='#495057'>"
+                + label + "</text></svg>";
+        exchange.getResponseHeaders().add("Cache-Control", "max-age=3600");
+        send(exchange, 200, "image/svg+xml", svg);
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream in = LocalStorefront.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + path)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".html")) return "text/html; charset=utf-8";
+        if (path.endsWith(".js")) return "application/javascript; charset=utf-8";
+        if (path.endsWith(".css")) return "text/css; charset=utf-8";
+        return "application/octet-stream";
+    }
+
+    private static Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        String raw = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (raw.isEmpty()) return Map.of();
+        return JSON.toType(raw, Json.MAP_TYPE);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        send(exchange, status, contentType, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Implemented by element handles that know the locator they were built from (the page object proxies),
+ * so per-locator bookkeeping such as {@link AdaptiveTimeouts} works for WebElement fields too.
+ */
+public interface LocatorAware {
+
+    By getLocator();
+}
@@ -0,0 +1,193 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Run-wide latency registry.
+ * Timers are keyed by name ("webdriver.findElement", "wait.visibility", "step.I click on ...")
+ * and keep a count, total, max and a fixed-bucket histogram; counters track plain events (timeouts, retries).
+ * Thread-safe and lock-free on the recording path, so parallel scenarios can share it.
+ */
+public final class Metrics {
+
+    /** Histogram upper bounds in milliseconds; the last bucket is open-ended. */
+    private static final long[] BUCKETS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000};
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private Metrics() { /* utility class */ }
+
+    // =========================
+    // Recording
+    // =========================
+
+    public static void record(String name, long nanos) {
+        TIMERS.computeIfAbsent(name, n -> new Timer()).record(nanos);
+    }
+
+    public static void increment(String name) {
+        COUNTERS.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+
+    public static void reset() {
+        TIMERS.clear();
+        COUNTERS.clear();
+    }
+
+    // =========================
+    // Reporting
+    // =========================
+
+    /**
+     * Write metrics.json and metrics.csv into {@code dir}.
+     *
+     * @return a human-readable summary of the {@code topN} slowest timers whose name starts with {@code prefix}
+     */
+    public static String writeReport(Path dir, String prefix, int topN) {
+        Map<String, Map<String, Object>> timers = new LinkedHashMap<>();
+        TIMERS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> timers.put(e.getKey(), e.getValue().toMap()));
+
+        Map<String, Long> counters = new LinkedHashMap<>();
+        COUNTERS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> counters.put(e.getKey(), e.getValue().sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timers", timers);
+        report.put("counters", counters);
+
+        StringBuilder csv = new StringBuilder("name,count,totalMs,meanMs,maxMs,p50Ms,p90Ms,p99Ms\n");
+        timers.forEach((name, t) -> csv.append('"').append(name.replace("\"", "\"\"")).append('"')
+                .append(',').append(t.get("count"))
+                .append(',').append(t.get("totalMs"))
+                .append(',').append(t.get("meanMs"))
+                .append(',').append(t.get("maxMs"))
+                .append(',').append(t.get("p50Ms"))
+                .append(',').append(t.get("p90Ms"))
+                .append(',').append(t.get("p99Ms"))
+                .append('\n'));
+
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("metrics.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.csv"), csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics to " + dir, e);
+        }
+        return summary(prefix, topN);
+    }
+
+    /** Top-N timers with the given prefix, ordered by total time spent. */
+    public static String summary(String prefix, int topN) {
+        List<Map.Entry<String, Timer>> slowest = TIMERS.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix))
+                .sorted(Comparator.comparingLong((Map.Entry<String, Timer> e) -> e.getValue().totalNanos.sum()).reversed())
+                .limit(topN)
+                .collect(Collectors.toList());
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Top %d slowest '%s*' by total time:%n", topN, prefix));
+        for (Map.Entry<String, Timer> e : slowest) {
+            Timer t = e.getValue();
+            out.append(String.format(Locale.ROOT, "  %9.1f ms total  %6d x  mean %8.1f ms  max %8.1f ms  %s%n",
+                    millis(t.totalNanos.sum()), t.count.sum(), millis(t.mean()), millis(t.maxNanos.get()), e.getKey()));
+        }
+        return out.toString();
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10d) / 10d;
+    }
+
+    // =========================
+    // Timer
+    // =========================
+
+    static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_MS.length + 1);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(bucketFor(nanos / 1_000_000L));
+        }
+
+        double mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        /** Upper bound (ms) of the bucket holding the given quantile; max for the open bucket. */
+        double percentileMs(double q) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(q * n);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i < BUCKETS_MS.length ? Math.min(BUCKETS_MS[i], millis(maxNanos.get())) : millis(maxNanos.get());
+                }
+            }
+            return millis(maxNanos.get());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", count.sum());
+            m.put("totalMs", round(millis(totalNanos.sum())));
+            m.put("meanMs", round(millis(mean())));
+            m.put("maxMs", round(millis(maxNanos.get())));
+            m.put("p50Ms", round(percentileMs(0.50)));
+            m.put("p90Ms", round(percentileMs(0.90)));
+            m.put("p99Ms", round(percentileMs(0.99)));
+
+            List<Map<String, Object>> histogram = new ArrayList<>();
+            for (int i = 0; i < buckets.length(); i++) {
+                long c = buckets.get(i);
+                if (c == 0) continue;
+                Map<String, Object> b = new LinkedHashMap<>();
+                b.put("leMs", i < BUCKETS_MS.length ? String.valueOf(BUCKETS_MS[i]) : "+Inf");
+                b.put("count", c);
+                histogram.add(b);
+            }
+            m.put("histogram", histogram);
+            return m;
+        }
+
+        private static int bucketFor(long millis) {
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                if (millis <= BUCKETS_MS[i]) return i;
+            }
+            return BUCKETS_MS.length;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+
+/**
+ * Advances {@link PageGeneration} on every explicit navigation made through a decorated driver,
+ * invalidating element handles cached against the previous document.
+ */
+public class NavigationListener implements WebDriverListener {
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        PageGeneration.advance();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        PageGeneration.advance();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        PageGeneration.advance();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        PageGeneration.advance();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        PageGeneration.advance();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        PageGeneration.advance();
+    }
+}
@@ -0,0 +1,144 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Waits on the page's own AJAX traffic.
+ * A small in-page tracker wraps fetch and XMLHttpRequest, keeping the URLs in flight and a log of
+ * completed requests with a sequence number. It is registered through CDP to run before any page
+ * script (so requests fired during load are seen), and injected on demand for drivers without CDP.
+ * <p>
+ * Usage: take a {@link #mark()} before the action, then wait for a matching request issued after it
+ * to complete, optionally together with the re-render of a container tagged by
+ * {@link DomWaits#markChildren(String)}. Each completion dispatches "dw:settled", so the underlying
+ * {@link DomWaits} re-checks immediately.
+ */
+public class NetworkWaits {
+
+    private static final String TRACKER =
+            "(function () {"
+                    + "  if (window.__nw) return;"
+                    + "  var nw = window.__nw = {seq: 0, nextId: 0, pending: {}, done: []};"
+                    + "  var start = function (url) { var id = ++nw.nextId; nw.pending[id] = String(url); return id; };"
+                    + "  var end = function (id, status) {"
+                    + "    var url = nw.pending[id]; if (url === undefined) return;"
+                    + "    delete nw.pending[id];"
+                    + "    nw.done.push({seq: ++nw.seq, url: url, status: status});"
+                    + "    if (nw.done.length > 100) nw.done.shift();"
+                    + "    document.dispatchEvent(new Event('dw:settled'));"
+                    + "  };"
+                    + "  if (window.fetch) {"
+                    + "    var origFetch = window.fetch;"
+                    + "    window.fetch = function (input) {"
+                    + "      var id = start(input && input.url ? input.url : input);"
+                    + "      return origFetch.apply(this, arguments).then("
+                    + "        function (r) { end(id, r.status); return r; },"
+                    + "        function (e) { end(id, 0); throw e; });"
+                    + "    };"
+                    + "  }"
+                    + "  var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;"
+                    + "  XMLHttpRequest.prototype.open = function (method, url) { this.__nwUrl = url; return open.apply(this, arguments); };"
+                    + "  XMLHttpRequest.prototype.send = function () {"
+                    + "    var xhr = this, id = start(xhr.__nwUrl);"
+                    + "    xhr.addEventListener('loadend', function () { end(id, xhr.status); });"
+                    + "    return send.apply(this, arguments);"
+                    + "  };"
+                    + "})();";
+
+    private static final String MARK = TRACKER + "return window.__nw.seq;";
+
+    /**
+     * True once a request matching args.pattern completed after args.mark, none is still in flight,
+     * and (when args.css is set) the container's children were re-rendered.
+     */
+    private static final String REQUESTS_DONE =
+            "(function (nw) {"
+                    + "  if (!nw) return false;"
+                    + "  var re = new RegExp(args.pattern);"
+                    + "  for (var id in nw.pending) { if (re.test(nw.pending[id])) return false; }"
+                    + "  var seen = false;"
+                    + "  for (var i = nw.done.length - 1; i >= 0 && nw.done[i].seq > args.mark; i--) {"
+                    + "    if (re.test(nw.done[i].url)) { seen = true; break; }"
+                    + "  }"
+                    + "  if (!seen) return false;"
+                    + "  if (!args.css) return true;"
+                    + "  var el = document.querySelector(args.css);"
+                    + "  if (!el || !el.children.length) return false;"
+                    + "  for (var j = 0; j < el.children.length; j++) { if (el.children[j].__dwStale) return false; }"
+                    + "  return true;"
+                    + "})(window.__nw)";
+
+    /** Sessions that already have the tracker registered for every new document. */
+    private static final Set<WebDriver> REGISTERED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final WebDriver driver;
+    private final DomWaits domWaits;
+
+    public NetworkWaits(WebDriver driver, DomWaits domWaits) {
+        this.driver = driver;
+        this.domWaits = domWaits;
+    }
+
+    /**
+     * Make sure the tracker is active on the current page and return the last completed request's
+     * sequence number. Call before the action whose requests you want to wait for.
+     */
+    public long mark() {
+        register();
+        Object seq = ((JavascriptExecutor) driver).executeScript(MARK);
+        return seq instanceof Number ? ((Number) seq).longValue() : 0L;
+    }
+
+    /**
+     * Wait until a request whose URL matches {@code urlPattern} (JavaScript regex) completed after
+     * {@code mark} and no matching request is still in flight.
+     *
+     * @throws TimeoutException if that does not happen within the wait timeout
+     */
+    public void waitForRequests(long mark, String urlPattern) {
+        await(Map.of("pattern", urlPattern, "mark", mark));
+    }
+
+    /**
+     * Same as {@link #waitForRequests(long, String)}, and additionally wait until the children of
+     * {@code containerCss} (marked with {@link DomWaits#markChildren(String)}) have been replaced.
+     */
+    public void waitForRequestsAndRender(long mark, String urlPattern, String containerCss) {
+        await(Map.of("pattern", urlPattern, "mark", mark, "css", containerCss));
+    }
+
+    private void await(Map<String, ?> args) {
+        long start = System.nanoTime();
+        try {
+            domWaits.until(REQUESTS_DONE, args);
+        } catch (TimeoutException e) {
+            Metrics.increment("wait.network.timeout");
+            throw e;
+        } finally {
+            Metrics.record("wait.network", System.nanoTime() - start);
+        }
+    }
+
+    /** Register the tracker for future documents once per session (CDP only; others rely on mark()). */
+    private void register() {
+        WebDriver session = driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+        if (!(session instanceof HasCdp) || REGISTERED.contains(session)) return;
+        try {
+            ((HasCdp) session).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", TRACKER));
+        } catch (WebDriverException ignored) {
+            // fall back to on-demand injection in mark()
+        }
+        REGISTERED.add(session);
+    }
+}
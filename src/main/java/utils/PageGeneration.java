@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * Per-thread counter of document loads.
+ * It advances whenever this thread's driver navigates (see {@link NavigationListener}),
+ * so anything cached against a document can tell when it belongs to an older page.
+ * Each scenario thread drives its own browser, so a thread-local counter is enough.
+ */
+public final class PageGeneration {
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    private PageGeneration() { /* utility class */ }
+
+    public static long current() {
+        return COUNTER.get()[0];
+    }
+
+    public static void advance() {
+        COUNTER.get()[0]++;
+    }
+}
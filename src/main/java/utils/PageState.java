@@ -0,0 +1,75 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+
+/**
+ * Cheap return to a freshly loaded page, so "open the home page" does not always cost a full navigation.
+ * {@link #stamp(WebDriver)} marks a document right after it was loaded: the cookies it was rendered with,
+ * and a listener that notes any interaction that changes page state outside a modal (category, paging,
+ * carousel clicks...). {@link #restore(WebDriver, List)} later decides whether that document can be reused:
+ * <ul>
+ *   <li>clean: same URL, still the stamped document, cookies unchanged, no state-changing interaction;
+ *       modal form fields are cleared and the page is scrolled to the top;</li>
+ *   <li>closing: as clean, but a Bootstrap modal was open and is now being hidden (wait for it);</li>
+ *   <li>anything else is the reason the page is dirty and must be reloaded.</li>
+ * </ul>
+ * Storage and cookies are cleared between scenarios by the driver pool; a cookie change (including a
+ * session injected for the next scenario) makes the page dirty, since it was rendered for other cookies.
+ */
+public final class PageState {
+
+    public static final String CLEAN = "clean";
+    public static final String CLOSING = "closing";
+
+    private static final String STAMP =
+            "var state = window.__dwPage = {cookies: document.cookie, touched: false};"
+                    + "var note = function (e) {"
+                    + "  var t = e.target;"
+                    + "  if (t && t.closest && (t.closest('.modal') || t.closest('[data-toggle=\"modal\"]'))) return;"
+                    + "  state.touched = true;"
+                    + "};"
+                    + "['click', 'input', 'change', 'submit'].forEach(function (type) {"
+                    + "  document.addEventListener(type, note, true);"
+                    + "});";
+
+    private static final String RESTORE =
+            "var urls = arguments[0], state = window.__dwPage;"
+                    + "if (urls.indexOf(location.href.split('#')[0]) < 0) return 'url';"
+                    + "if (!state) return 'unstamped';"
+                    + "if (document.readyState !== 'complete') return 'loading';"
+                    + "if (state.cookies !== document.cookie) return 'cookies';"
+                    + "if (state.touched) return 'touched';"
+                    + "var shown = document.querySelectorAll('.modal.show');"
+                    + "if (shown.length && !(window.jQuery && jQuery.fn.modal)) return 'modal';"
+                    + "document.querySelectorAll('.modal input, .modal textarea').forEach(function (f) { f.value = ''; });"
+                    + "window.scrollTo(0, 0);"
+                    + "if (!shown.length) return 'clean';"
+                    + "jQuery(shown).modal('hide');"
+                    + "return 'closing';";
+
+    private PageState() { /* utility class */ }
+
+    /** Mark the current document as freshly loaded. Call right after navigating to it. */
+    public static void stamp(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(STAMP);
+    }
+
+    /**
+     * Try to reuse the current document as if {@code urls} (any of these spellings) had just been loaded.
+     *
+     * @return {@link #CLEAN}, {@link #CLOSING}, or the reason the page has to be reloaded
+     */
+    public static String restore(WebDriver driver, List<String> urls) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(RESTORE, urls);
+            return result == null ? "unknown" : result.toString();
+        } catch (WebDriverException e) {
+            // open alert, blank tab, crashed renderer: a navigation sorts all of these out
+            return "error";
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package utils;
+
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, per-{@link FailureClass} retries for UI actions.
+ * A failure is classified; if its class still has attempts left the action is re-run after an exponential
+ * backoff, otherwise the original exception is rethrown (with the retry history added to its WebDriver info).
+ * Non-retryable classes (timeouts, driver crashes, anything unrecognised) fail on the first occurrence.
+ * Metrics counters:
+ * <ul>
+ *   <li>{@code retry.<class>} and {@code retry.<action>}: every retry made;</li>
+ *   <li>{@code retry.<class>.recovered}: actions that succeeded after retrying;</li>
+ *   <li>{@code retry.<class>.exhausted}: actions that used up their attempts;</li>
+ *   <li>{@code failfast.<class>}: failures rethrown without a retry.</li>
+ * </ul>
+ * Immutable; {@link #with(FailureClass, int, Duration)} returns an adjusted copy.
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy STANDARD = new RetryPolicy(defaults());
+
+    private final Map<FailureClass, Rule> rules;
+
+    private RetryPolicy(Map<FailureClass, Rule> rules) {
+        this.rules = rules;
+    }
+
+    /** The defaults declared on {@link FailureClass}. */
+    public static RetryPolicy standard() {
+        return STANDARD;
+    }
+
+    /** Copy of this policy with a different rule for one failure class. */
+    public RetryPolicy with(FailureClass failure, int attempts, Duration backoff) {
+        if (attempts < 1) throw new IllegalArgumentException("attempts must be >= 1: " + attempts);
+        Map<FailureClass, Rule> copy = new EnumMap<>(rules);
+        copy.put(failure, new Rule(attempts, backoff));
+        return new RetryPolicy(copy);
+    }
+
+    // =========================
+    // Running actions
+    // =========================
+
+    public void run(String action, Runnable body) {
+        call(action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run {@code body}, retrying transient failures. Attempts are counted per class, so e.g. a stale element
+     * followed by an intercepted click each get their own budget.
+     */
+    public <T> T call(String action, Supplier<T> body) {
+        Map<FailureClass, Integer> tries = new EnumMap<>(FailureClass.class);
+        FailureClass retried = null;
+        while (true) {
+            try {
+                T result = body.get();
+                if (retried != null) Metrics.increment("retry." + retried.key() + ".recovered");
+                return result;
+            } catch (RuntimeException e) {
+                FailureClass failure = FailureClass.of(e);
+                Rule rule = rules.get(failure);
+                int attempt = tries.merge(failure, 1, Integer::sum);
+                if (rule.attempts <= 1) {
+                    Metrics.increment("failfast." + failure.key());
+                    throw annotate(e, action, failure, attempt);
+                }
+                if (attempt >= rule.attempts) {
+                    Metrics.increment("retry." + failure.key() + ".exhausted");
+                    throw annotate(e, action, failure, attempt);
+                }
+                Metrics.increment("retry." + failure.key());
+                Metrics.increment("retry." + action);
+                retried = failure;
+                if (!sleep(rule.backoff.multipliedBy(1L << (attempt - 1)))) {
+                    throw annotate(e, action, failure, attempt);
+                }
+            }
+        }
+    }
+
+    // =========================
+    // Internals
+    // =========================
+
+    private static RuntimeException annotate(RuntimeException e, String action, FailureClass failure, int attempts) {
+        if (e instanceof WebDriverException) {
+            ((WebDriverException) e).addInfo("action", action + " failed (" + failure.key() + ") after "
+                    + attempts + (attempts == 1 ? " attempt" : " attempts"));
+        }
+        return e;
+    }
+
+    /** @return false if interrupted (the interrupt flag is restored) */
+    private static boolean sleep(Duration delay) {
+        if (delay.isZero()) return true;
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(delay.toMillis());
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            Metrics.record("retry.backoff", System.nanoTime() - start);
+        }
+    }
+
+    private static Map<FailureClass, Rule> defaults() {
+        Map<FailureClass, Rule> rules = new EnumMap<>(FailureClass.class);
+        for (FailureClass failure : FailureClass.values()) {
+            rules.put(failure, new Rule(failure.defaultAttempts(), failure.defaultBackoff()));
+        }
+        return rules;
+    }
+
+    private static final class Rule {
+        final int attempts;
+        final Duration backoff;
+
+        Rule(int attempts, Duration backoff) {
+            this.attempts = attempts;
+            this.backoff = backoff;
+        }
+    }
+}
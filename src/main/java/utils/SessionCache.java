@@ -0,0 +1,64 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide cache of authenticated sessions.
+ * Each user logs in once through the API; the token is then injected into any browser as the
+ * storefront's {@code tokenp_} cookie, so scenarios that merely need a logged-in user skip the login modal.
+ * Login.feature keeps exercising the real UI flow.
+ */
+public final class SessionCache {
+
+    /** Cookie the storefront reads on page load to restore the logged-in user. */
+    public static final String AUTH_COOKIE = "tokenp_";
+
+    private static final Map<String, String> TOKENS = new ConcurrentHashMap<>();
+
+    private SessionCache() { /* utility class */ }
+
+    /** Cached token for the user, logging in through the API on first use. */
+    public static String tokenFor(String username, String password) {
+        return TOKENS.computeIfAbsent(username, u -> StoreApi.login(u, password));
+    }
+
+    /** Forget a user's token (e.g. the server no longer accepts it). */
+    public static void invalidate(String username) {
+        TOKENS.remove(username);
+    }
+
+    /**
+     * Put the user's auth cookie into the browser. Navigate (or reload) afterwards to pick it up.
+     * On Chromium the cookie is set over CDP without loading a page first; other browsers need to be
+     * on the storefront origin, so they are sent there once if they are not already.
+     */
+    public static void authenticate(WebDriver driver, String username, String password) {
+        String token = tokenFor(username, password);
+        String baseUrl = Storefront.baseUrl();
+
+        if (driver instanceof HasCdp) {
+            try {
+                ((HasCdp) driver).executeCdpCommand("Network.setCookie", Map.of(
+                        "name", AUTH_COOKIE,
+                        "value", token,
+                        "url", baseUrl + "/",
+                        "path", "/"));
+                return;
+            } catch (WebDriverException e) {
+                // fall back to the WebDriver cookie API below
+            }
+        }
+
+        String current = driver.getCurrentUrl();
+        if (current == null || !current.startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        driver.manage().addCookie(new Cookie(AUTH_COOKIE, token, "/"));
+    }
+}
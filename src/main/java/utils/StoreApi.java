@@ -0,0 +1,135 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Minimal client for the storefront's JSON API ({@link Storefront#apiUrl()}).
+ * One shared HttpClient, so calls reuse pooled connections.
+ */
+public final class StoreApi {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Config.get().getHttpConnectTimeout())
+            .build();
+    private static final Json JSON = new Json();
+    private static final String TOKEN_PREFIX = "Auth_token: ";
+
+    private StoreApi() { /* utility class */ }
+
+    /**
+     * Log in the way the storefront's own script does (password sent base64-encoded).
+     *
+     * @return the auth token the site stores in its {@code tokenp_} cookie
+     * @throws IllegalStateException with the site's error message when the login is rejected
+     */
+    public static String login(String username, String password) {
+        Object response = post("login", Map.of(
+                "username", username,
+                "password", Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8))));
+        if (response instanceof String && ((String) response).startsWith(TOKEN_PREFIX)) {
+            return ((String) response).substring(TOKEN_PREFIX.length()).trim();
+        }
+        throw new IllegalStateException("API login failed for '" + username + "': " + errorMessage(response));
+    }
+
+    /**
+     * Products of a category as the storefront's /bycat endpoint returns them, fetched without blocking.
+     * Each item is reduced to its displayed fields: "title" and "price" (as the page prints it, e.g. "$360").
+     *
+     * @param category the menu label: Phones, Laptops or Monitors
+     */
+    public static CompletableFuture<List<Map<String, String>>> catalog(String category) {
+        return postAsync("bycat", Map.of("cat", categoryCode(category))).thenApply(response -> {
+            if (!(response instanceof Map) || !(((Map<?, ?>) response).get("Items") instanceof List)) {
+                throw new IllegalStateException("Unexpected /bycat response for " + category + ": " + response);
+            }
+            List<Map<String, String>> items = new ArrayList<>();
+            for (Object item : (List<?>) ((Map<?, ?>) response).get("Items")) {
+                Map<?, ?> fields = (Map<?, ?>) item;
+                items.add(Map.of(
+                        "title", String.valueOf(fields.get("title")),
+                        "price", "$" + plain(fields.get("price"))));
+            }
+            return List.copyOf(items);
+        });
+    }
+
+    /** The API's code for a category menu label (the value the page passes to byCat()). */
+    public static String categoryCode(String category) {
+        switch (category.toLowerCase(Locale.ROOT).trim()) {
+            case "phones":
+                return "phone";
+            case "laptops":
+                return "notebook";
+            case "monitors":
+                return "monitor";
+            default:
+                throw new IllegalArgumentException("Unknown category: " + category);
+        }
+    }
+
+    /** POST a JSON body to an API endpoint and return the decoded JSON (String, Map or List). */
+    static Object post(String endpoint, Map<String, ?> body) {
+        String raw;
+        try {
+            raw = CLIENT.send(request(endpoint, body), HttpResponse.BodyHandlers.ofString()).body();
+        } catch (IOException e) {
+            throw new IllegalStateException("Store API call /" + endpoint + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling store API /" + endpoint, e);
+        }
+        return decode(raw);
+    }
+
+    /** Non-blocking {@link #post(String, Map)}; the call runs on the shared client's executor. */
+    static CompletableFuture<Object> postAsync(String endpoint, Map<String, ?> body) {
+        return CLIENT.sendAsync(request(endpoint, body), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> decode(response.body()));
+    }
+
+    private static HttpRequest request(String endpoint, Map<String, ?> body) {
+        return HttpRequest.newBuilder(URI.create(Storefront.apiUrl() + "/" + endpoint))
+                .timeout(Config.get().getApiRequestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(body)))
+                .build();
+    }
+
+    private static Object decode(String raw) {
+        if (raw == null || raw.isBlank()) return "";
+        try {
+            return JSON.toType(raw, Object.class);
+        } catch (JsonException e) {
+            return raw;
+        }
+    }
+
+    /** 360 and 360.0 both print as the page prints them: "360". */
+    private static String plain(Object number) {
+        if (!(number instanceof Number)) return String.valueOf(number);
+        return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+    }
+
+    private static String errorMessage(Object response) {
+        if (response instanceof Map && ((Map<?, ?>) response).containsKey("errorMessage")) {
+            return String.valueOf(((Map<?, ?>) response).get("errorMessage"));
+        }
+        return String.valueOf(response);
+    }
+}
@@ -0,0 +1,37 @@
+package utils;
+
+/**
+ * Where the Product Store under test lives.
+ * Defaults to the public demoblaze site; override with store.baseUrl / store.apiUrl ({@link Config}),
+ * or start {@link LocalStorefront} to point both at the in-process stub.
+ */
+public final class Storefront {
+
+    public static final String LIVE_URL = "https://www.demoblaze.com";
+    public static final String LIVE_API_URL = "https://api.demoblaze.com";
+
+    private static volatile String localUrl;
+
+    private Storefront() { /* utility class */ }
+
+    /** Base URL of the storefront pages (no trailing slash). */
+    public static String baseUrl() {
+        String local = localUrl;
+        return local != null ? local : Config.get().getStoreBaseUrl();
+    }
+
+    /** Base URL of the storefront's JSON API (no trailing slash). */
+    public static String apiUrl() {
+        String local = localUrl;
+        return local != null ? local : Config.get().getStoreApiUrl();
+    }
+
+    public static boolean isLocal() {
+        return localUrl != null;
+    }
+
+    static void useLocal(String url) {
+        localUrl = url;
+        FixtureCache.invalidate(FixtureCache.STOREFRONT); // data read from the other site no longer applies
+    }
+}
@@ -0,0 +1,54 @@
+package utils;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times every WebDriver command made through a decorated driver and records it in {@link Metrics}
+ * as "webdriver.*", "webelement.*", "navigation.*", "alert.*" or "options.*".
+ * Listener callbacks run on the calling thread, so start times are kept per thread.
+ */
+public class TimingListener implements WebDriverListener {
+
+    private static final ThreadLocal<Deque<Long>> STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        STARTS.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        stop(target, method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        stop(target, method, true);
+    }
+
+    private static void stop(Object target, Method method, boolean failed) {
+        Long start = STARTS.get().poll();
+        if (start == null) return;
+        String name = category(target) + "." + method.getName();
+        Metrics.record(name, System.nanoTime() - start);
+        if (failed) {
+            Metrics.increment(name + ".error");
+        }
+    }
+
+    private static String category(Object target) {
+        if (target instanceof WebElement) return "webelement";
+        if (target instanceof WebDriver) return "webdriver";
+        if (target instanceof WebDriver.Navigation) return "navigation";
+        if (target instanceof Alert) return "alert";
+        return "options";
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * Behaviour of the local Product Store stand-in: the storefront's own page scripts
+ * plus the small part of Bootstrap 4 they rely on (modals, carousel), without jQuery or a CDN.
+ * Bootstrap-style events (shown.bs.modal, slide.bs.carousel, slid.bs.carousel, ...) are
+ * dispatched as native DOM events carrying from/to/direction like their jQuery counterparts.
+ */
+(function () {
+    'use strict';
+
+    var API = window.location.origin;
+    var CAROUSEL_INTERVAL = 5000;
+
+    // =========================
+    // Utilities
+    // =========================
+
+    function post(path, body) {
+        return fetch(API + '/' + path, {
+            method: 'POST',
+            headers: {'Content-Type': 'application/json'},
+            body: JSON.stringify(body || {})
+        }).then(function (r) {
+            return r.json();
+        });
+    }
+
+    function readCookie(name) {
+        var parts = document.cookie ? document.cookie.split('; ') : [];
+        for (var i = 0; i < parts.length; i++) {
+            var eq = parts[i].indexOf('=');
+            if (parts[i].substring(0, eq) === name) return decodeURIComponent(parts[i].substring(eq + 1));
+        }
+        return null;
+    }
+
+    function escapeHtml(s) {
+        return String(s).replace(/[&<>"']/g, function (c) {
+            return {'&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;'}[c];
+        });
+    }
+
+    function fire(el, name, detail) {
+        var ev = new CustomEvent(name, {bubbles: true, detail: detail || {}});
+        Object.keys(detail || {}).forEach(function (k) {
+            ev[k] = detail[k];
+        });
+        el.dispatchEvent(ev);
+    }
+
+    /** Run fn once el's own CSS transition ends (immediately if it has none, e.g. reduced motion). */
+    function afterTransition(el, fn) {
+        var duration = parseFloat(window.getComputedStyle(el).transitionDuration) * 1000 || 0;
+        if (!duration) {
+            setTimeout(fn, 0);
+            return;
+        }
+        var called = false;
+        var once = function (e) {
+            if (called || (e && e.target !== el)) return;
+            called = true;
+            el.removeEventListener('transitionend', once);
+            fn();
+        };
+        el.addEventListener('transitionend', once);
+        setTimeout(once, duration + 50);
+    }
+
+    function byId(id) {
+        return document.getElementById(id);
+    }
+
+    function show(el, visible) {
+        if (el) el.style.display = visible ? '' : 'none';
+    }
+
+    // =========================
+    // Modal
+    // =========================
+
+    function showModal(modal) {
+        if (!modal || modal.classList.contains('show')) return;
+        document.body.classList.add('modal-open');
+        var backdrop = document.createElement('div');
+        backdrop.className = 'modal-backdrop fade';
+        document.body.appendChild(backdrop);
+        modal.style.display = 'block';
+        modal.removeAttribute('aria-hidden');
+        modal.setAttribute('aria-modal', 'true');
+        void modal.offsetWidth; // reflow so the fade-in transition runs
+        backdrop.classList.add('show');
+        modal.classList.add('show');
+        afterTransition(modal, function () {
+            fire(modal, 'shown.bs.modal');
+        });
+    }
+
+    function hideModal(modal) {
+        if (!modal || !modal.classList.contains('show')) return;
+        modal.classList.remove('show');
+        var backdrop = document.querySelector('.modal-backdrop');
+        if (backdrop) backdrop.classList.remove('show');
+        afterTransition(modal, function () {
+            modal.style.display = 'none';
+            modal.setAttribute('aria-hidden', 'true');
+            modal.removeAttribute('aria-modal');
+            document.body.classList.remove('modal-open');
+            var b = document.querySelector('.modal-backdrop');
+            if (b) b.parentNode.removeChild(b);
+            fire(modal, 'hidden.bs.modal');
+        });
+    }
+
+    // =========================
+    // Carousel
+    // =========================
+
+    function Carousel(el) {
+        this.el = el;
+        this.items = el.querySelectorAll('.carousel-item');
+        this.indicators = el.querySelectorAll('.carousel-indicators li');
+        this.sliding = false;
+        this.paused = false;
+        this.timer = null;
+        var self = this;
+        el.addEventListener('mouseenter', function () {
+            self.paused = true;
+            self.stop();
+        });
+        el.addEventListener('mouseleave', function () {
+            self.paused = false;
+            self.cycle();
+        });
+        el.__carousel = this;
+    }
+
+    Carousel.prototype.activeIndex = function () {
+        for (var i = 0; i < this.items.length; i++) {
+            if (this.items[i].classList.contains('active')) return i;
+        }
+        return 0;
+    };
+
+    Carousel.prototype.stop = function () {
+        clearInterval(this.timer);
+        this.timer = null;
+    };
+
+    Carousel.prototype.cycle = function () {
+        var self = this;
+        this.stop();
+        if (this.paused) return;
+        this.timer = setInterval(function () {
+            if (!document.hidden) self.slide('next');
+        }, CAROUSEL_INTERVAL);
+    };
+
+    Carousel.prototype.to = function (index) {
+        var from = this.activeIndex();
+        if (index === from) return;
+        this.slide(index > from ? 'next' : 'prev', index);
+    };
+
+    Carousel.prototype.slide = function (order, target) {
+        if (this.sliding || this.items.length < 2) return;
+        var n = this.items.length;
+        var from = this.activeIndex();
+        var to = target !== undefined ? target : (order === 'next' ? (from + 1) % n : (from - 1 + n) % n);
+        var direction = order === 'next' ? 'left' : 'right';
+        var active = this.items[from];
+        var next = this.items[to];
+        var orderClass = order === 'next' ? 'carousel-item-next' : 'carousel-item-prev';
+        var directionClass = order === 'next' ? 'carousel-item-left' : 'carousel-item-right';
+        var detail = {from: from, to: to, direction: direction, relatedTarget: next};
+        var self = this;
+
+        fire(this.el, 'slide.bs.carousel', detail);
+        this.sliding = true;
+        this.stop();
+
+        next.classList.add(orderClass);
+        void next.offsetWidth; // reflow so the slide transition runs
+        active.classList.add(directionClass);
+        next.classList.add(directionClass);
+
+        afterTransition(active, function () {
+            next.classList.remove(directionClass, orderClass);
+            next.classList.add('active');
+            active.classList.remove('active', directionClass);
+            for (var i = 0; i < self.indicators.length; i++) {
+                self.indicators[i].classList.toggle('active', i === to);
+            }
+            self.sliding = false;
+            fire(self.el, 'slid.bs.carousel', detail);
+            self.cycle();
+        });
+    };
+
+    // =========================
+    // Delegated clicks (data-toggle / data-dismiss / data-slide)
+    // =========================
+
+    document.addEventListener('click', function (e) {
+        var toggle = e.target.closest('[data-toggle="modal"]');
+        if (toggle) {
+            e.preventDefault();
+            showModal(document.querySelector(toggle.getAttribute('data-target')));
+            return;
+        }
+        var dismiss = e.target.closest('[data-dismiss="modal"]');
+        if (dismiss) {
+            hideModal(dismiss.closest('.modal'));
+            return;
+        }
+        if (e.target.classList && e.target.classList.contains('modal')) {
+            hideModal(e.target);
+            return;
+        }
+        var control = e.target.closest('[data-slide], [data-slide-to]');
+        if (control) {
+            e.preventDefault();
+            var carousel = control.closest('.carousel') || document.querySelector(control.getAttribute('data-target'));
+            if (!carousel || !carousel.__carousel) return;
+            if (control.hasAttribute('data-slide-to')) {
+                carousel.__carousel.to(parseInt(control.getAttribute('data-slide-to'), 10));
+            } else {
+                carousel.__carousel.slide(control.getAttribute('data-slide'));
+            }
+        }
+    });
+
+    // =========================
+    // Storefront
+    // =========================
+
+    var lastId = null;
+
+    function renderItems(items) {
+        byId('tbodyid').innerHTML = items.map(function (it) {
+            var href = 'prod.html?idp_=' + it.id;
+            return '<div class="col-lg-4 col-md-6 mb-4"><div class="card h-100">'
+                + '<a href="' + href + '"><img class="card-img-top img-fluid" src="' + escapeHtml(it.img) + '" alt=""></a>'
+                + '<div class="card-block">'
+                + '<h4 class="card-title"><a href="' + href + '" class="hrefch">' + escapeHtml(it.title) + '</a></h4>'
+                + '<h5>$' + it.price + '</h5>'
+                + '<p class="card-text" id="article">' + escapeHtml(it.desc) + '</p>'
+                + '</div></div></div>';
+        }).join('');
+    }
+
+    function loadEntries() {
+        byId('tbodyid').innerHTML = '';
+        return post('entries').then(function (data) {
+            renderItems(data.Items);
+            lastId = data.LastEvaluatedKey ? data.LastEvaluatedKey.id : null;
+            show(byId('next2'), true);
+            show(byId('prev2'), false);
+        });
+    }
+
+    window.byCat = function (cat) {
+        post('bycat', {cat: cat}).then(function (data) {
+            renderItems(data.Items);
+        });
+        return false;
+    };
+
+    function nextPage() {
+        byId('tbodyid').innerHTML = '';
+        post('pagination', {id: lastId}).then(function (data) {
+            renderItems(data.Items);
+            show(byId('next2'), false);
+            show(byId('prev2'), true);
+        });
+    }
+
+    window.send = function () {
+        alert('Thanks for the message!!');
+        hideModal(byId('exampleModal'));
+    };
+
+    window.logIn = function () {
+        var username = byId('loginusername').value;
+        var password = byId('loginpassword').value;
+        if (!username || !password) {
+            alert('Please fill out Username and Password.');
+            return;
+        }
+        post('login', {username: username, password: btoa(password)}).then(function (data) {
+            if (data && data.errorMessage) {
+                alert(data.errorMessage);
+                return;
+            }
+            document.cookie = 'tokenp_=' + String(data).split('Auth_token: ')[1] + '; path=/';
+            hideModal(byId('logInModal'));
+            window.location.href = 'index.html';
+        });
+    };
+
+    window.register = function () {
+        var username = byId('sign-username').value;
+        var password = byId('sign-password').value;
+        if (!username || !password) {
+            alert('Please fill out Username and Password.');
+            return;
+        }
+        post('signup', {username: username, password: btoa(password)}).then(function (data) {
+            if (data && data.errorMessage) {
+                alert(data.errorMessage);
+                return;
+            }
+            alert('Sign up successful.');
+            hideModal(byId('signInModal'));
+        });
+    };
+
+    window.logOut = function () {
+        document.cookie = 'tokenp_=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+        window.location.href = 'index.html';
+    };
+
+    window.addToCart = function () {
+        post('addtocart', {id: String(Date.now()), prod_id: productId(), flag: !!readCookie('tokenp_')})
+            .then(function () {
+                alert('Product added');
+            });
+        return false;
+    };
+
+    function productId() {
+        var m = /[?&]idp_=(\d+)/.exec(window.location.search);
+        return m ? parseInt(m[1], 10) : 0;
+    }
+
+    function checkSession() {
+        var token = readCookie('tokenp_');
+        if (!token) return;
+        post('check', {token: token}).then(function (data) {
+            if (!data || !data.Item) return;
+            var user = byId('nameofuser');
+            user.textContent = 'Welcome ' + data.Item.username;
+            show(user, true);
+            show(byId('logout2'), true);
+            show(byId('login2'), false);
+            show(byId('signin2'), false);
+        });
+    }
+
+    function init() {
+        var page = document.body.getAttribute('data-page');
+        checkSession();
+        if (page === 'index') {
+            var carousel = byId('carouselExampleIndicators');
+            new Carousel(carousel).cycle();
+            byId('next2').addEventListener('click', nextPage);
+            byId('prev2').addEventListener('click', loadEntries);
+            document.querySelectorAll('#itemc').forEach(function (a) {
+                a.addEventListener('click', function (e) {
+                    e.preventDefault();
+                });
+            });
+            loadEntries();
+        } else if (page === 'cart') {
+            post('viewcart', {cookie: readCookie('tokenp_') || '', flag: !!readCookie('tokenp_')});
+        } else if (page === 'prod') {
+            post('view', {id: String(productId())}).then(function (it) {
+                if (!it || it.errorMessage) return;
+                document.querySelector('.name').textContent = it.title;
+                document.querySelector('.price-container').innerHTML =
+                    '$' + it.price + ' <small>*includes tax</small>';
+                document.querySelector('#more-information p').textContent = it.desc;
+            });
+        }
+    }
+
+    init();
+})();
@@ -0,0 +1,107 @@
+package Runner;
+
+import utils.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Per-scenario duration history used to balance shards.
+ * Stored as a properties file of {@code <feature path>:<line>=<millis>}, where the path is relative to the
+ * working directory (the same form Cucumber accepts in cucumber.features) and the line is the scenario's
+ * (or example row's) line. shard.timings sets the file (default target/scenario-timings.properties);
+ * keep it in a CI cache so every shard of the next run sees the same history.
+ */
+public final class ScenarioTimings {
+
+    private static final Path CWD = Paths.get("").toAbsolutePath();
+
+    /** Weight of a new measurement against the history (exponential moving average). */
+    private static final double SMOOTHING = 0.5;
+
+    private ScenarioTimings() { /* utility class */ }
+
+    public static Path historyFile() {
+        return Config.get().getShardTimings();
+    }
+
+    /** Scenario key for a feature URI (file: or plain path) and line. */
+    public static String key(URI uri, int line) {
+        String path = "file".equals(uri.getScheme())
+                ? CWD.relativize(Paths.get(uri).toAbsolutePath()).toString()
+                : uri.toString();
+        return key(path, line);
+    }
+
+    public static String key(String path, int line) {
+        return path.replace('\\', '/') + ":" + line;
+    }
+
+    // =========================
+    // File access
+    // =========================
+
+    public static Map<String, Long> load(Path file) {
+        Map<String, Long> timings = new TreeMap<>();
+        if (!Files.isRegularFile(file)) return timings;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read scenario timings from " + file, e);
+        }
+        for (String name : props.stringPropertyNames()) {
+            try {
+                timings.put(name, Long.parseLong(props.getProperty(name).trim()));
+            } catch (NumberFormatException ignored) {
+                // hand-edited or corrupt entry: treat as unknown
+            }
+        }
+        return timings;
+    }
+
+    public static void save(Path file, Map<String, Long> timings) {
+        Properties props = new Properties();
+        timings.forEach((k, v) -> props.setProperty(k, String.valueOf(v)));
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                props.store(out, "Scenario durations in ms (feature:line=millis), used for shard balancing");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write scenario timings to " + file, e);
+        }
+    }
+
+    // =========================
+    // History
+    // =========================
+
+    /** Fold fresh measurements into the history: smoothed for known scenarios, as-is for new ones. */
+    public static Map<String, Long> merge(Map<String, Long> history, Map<String, Long> fresh) {
+        Map<String, Long> merged = new TreeMap<>(history);
+        fresh.forEach((key, millis) -> merged.merge(key, millis,
+                (old, now) -> Math.round(old * (1 - SMOOTHING) + now * SMOOTHING)));
+        return merged;
+    }
+
+    /** Estimate used for scenarios without history: the median known duration, or 1 when there is none. */
+    static long defaultEstimate(Map<String, Long> timings) {
+        if (timings.isEmpty()) return 1L;
+        List<Long> values = new ArrayList<>(timings.values());
+        Collections.sort(values);
+        return Math.max(1L, values.get(values.size() / 2));
+    }
+}
@@ -0,0 +1,164 @@
+package Runner;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleTag;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.TableRow;
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the suite's scenarios into shards of roughly equal expected duration.
+ * Scenarios (one per pickle, so each Examples row is its own unit) are read straight from the feature files,
+ * estimated from {@link ScenarioTimings} and assigned longest-first to the least loaded shard (LPT).
+ * The plan only depends on the feature files and the timings file, so every shard computes the same one.
+ */
+final class ShardPlan {
+
+    private ShardPlan() { /* utility class */ }
+
+    /** Scenario keys ({@code path:line}) under the given feature files/directories, in file order. */
+    static List<String> scenarios(List<Path> roots, String tagExpression) {
+        Expression tags = tagExpression == null || tagExpression.isBlank()
+                ? null
+                : TagExpressionParser.parse(tagExpression);
+        GherkinParser parser = GherkinParser.builder()
+                .includeSource(false)
+                .includeGherkinDocument(true)
+                .includePickles(true)
+                .build();
+
+        List<String> keys = new ArrayList<>();
+        for (Path feature : featureFiles(roots)) {
+            Map<String, Integer> lines = new HashMap<>();
+            List<Pickle> pickles = new ArrayList<>();
+            try (Stream<Envelope> envelopes = parser.parse(feature)) {
+                envelopes.forEach(e -> {
+                    e.getGherkinDocument().ifPresent(doc -> collectLines(doc, lines));
+                    e.getPickle().ifPresent(pickles::add);
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not parse " + feature, e);
+            }
+            for (Pickle pickle : pickles) {
+                if (tags != null && !tags.evaluate(
+                        pickle.getTags().stream().map(PickleTag::getName).collect(Collectors.toList()))) {
+                    continue;
+                }
+                // [scenario] or [scenario, example row]: the most specific node is the one Cucumber selects by line
+                List<String> nodes = pickle.getAstNodeIds();
+                Integer line = lines.get(nodes.get(nodes.size() - 1));
+                if (line != null) {
+                    keys.add(ScenarioTimings.key(feature.toString(), line));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Longest-processing-time-first assignment.
+     * Unknown scenarios are estimated at the median known duration.
+     */
+    static List<List<String>> balance(List<String> keys, Map<String, Long> timings, int shards) {
+        long unknown = ScenarioTimings.defaultEstimate(timings);
+        List<String> ordered = new ArrayList<>(keys);
+        ordered.sort(Comparator.comparingLong((String k) -> timings.getOrDefault(k, unknown)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> plan = new ArrayList<>();
+        long[] load = new long[shards];
+        for (int i = 0; i < shards; i++) plan.add(new ArrayList<>());
+        for (String key : ordered) {
+            int target = 0;
+            for (int i = 1; i < shards; i++) {
+                if (load[i] < load[target]) target = i;
+            }
+            plan.get(target).add(key);
+            load[target] += timings.getOrDefault(key, unknown);
+        }
+        return plan;
+    }
+
+    /** Expected duration of a shard, for the run log. */
+    static long estimate(List<String> shard, Map<String, Long> timings) {
+        long unknown = ScenarioTimings.defaultEstimate(timings);
+        return shard.stream().mapToLong(k -> timings.getOrDefault(k, unknown)).sum();
+    }
+
+    /** The shard as a cucumber.features value: {@code a.feature:3:10,b.feature:7}. */
+    static String toFeaturesOption(List<String> shard) {
+        Map<String, List<String>> linesByFile = new LinkedHashMap<>();
+        for (String key : shard) {
+            int colon = key.lastIndexOf(':');
+            linesByFile.computeIfAbsent(key.substring(0, colon), f -> new ArrayList<>()).add(key.substring(colon + 1));
+        }
+        return linesByFile.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + ":" + String.join(":", e.getValue()))
+                .collect(Collectors.joining(","));
+    }
+
+    // =========================
+    // Internals
+    // =========================
+
+    private static List<Path> featureFiles(List<Path> roots) {
+        List<Path> files = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(p -> p.toString().endsWith(".feature")).sorted().forEach(files::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not list features under " + root, e);
+                }
+            } else if (Files.isRegularFile(root)) {
+                files.add(root);
+            } else {
+                throw new IllegalArgumentException("Feature path not found (sharding needs file system paths): " + root);
+            }
+        }
+        return files;
+    }
+
+    private static void collectLines(GherkinDocument doc, Map<String, Integer> lines) {
+        doc.getFeature().ifPresent(feature -> {
+            for (FeatureChild child : feature.getChildren()) {
+                child.getScenario().ifPresent(s -> collectLines(s, lines));
+                child.getRule().ifPresent(rule -> {
+                    for (RuleChild ruleChild : rule.getChildren()) {
+                        ruleChild.getScenario().ifPresent(s -> collectLines(s, lines));
+                    }
+                });
+            }
+        });
+    }
+
+    private static void collectLines(Scenario scenario, Map<String, Integer> lines) {
+        lines.put(scenario.getId(), scenario.getLocation().getLine().intValue());
+        for (Examples examples : scenario.getExamples()) {
+            for (TableRow row : examples.getTableBody()) {
+                lines.put(row.getId(), row.getLocation().getLine().intValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package Runner;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.introspect.AnnotatedConstructor;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedParameter;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.cucumber.htmlformatter.MessagesToHtmlWriter;
+import io.cucumber.messages.types.Envelope;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the per-shard results of a sharded run ({@link ShardedCucumber}) once every shard has finished:
+ * <ul>
+ *   <li>shard-*.ndjson message reports become one cucumber-report.html with a single test run;</li>
+ *   <li>timings-*.properties are folded into the scenario timing history for the next run's balancing.</li>
+ * </ul>
+ * Usage: {@code ShardReports [shard dir (target/shards)] [html out (target/cucumber-report.html)]},
+ * e.g. {@code mvn -Pshard-report test-compile exec:java} after collecting the shards' target/shards folders.
+ */
+public final class ShardReports {
+
+    /**
+     * Reads and writes Cucumber message types the way Cucumber does: through their constructors (the messages
+     * jar keeps parameter names) and their fields, leaving out absent values; enums by their JSON names.
+     */
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .annotationIntrospector(new ParameterNames())
+            .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .visibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.PUBLIC_ONLY)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+            .enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    private ShardReports() { /* utility class */ }
+
+    public static void main(String[] args) {
+        Path shardDir = args.length > 0 ? Path.of(args[0]) : ShardedCucumber.SHARD_DIR;
+        Path html = args.length > 1 ? Path.of(args[1]) : Path.of("target", "cucumber-report.html");
+
+        List<Path> reports = list(shardDir, "shard-", ".ndjson");
+        if (reports.isEmpty()) {
+            throw new IllegalStateException("No shard-*.ndjson reports found in " + shardDir.toAbsolutePath());
+        }
+        int messages = writeHtml(reports, html);
+        System.out.println("Merged " + reports.size() + " shard reports (" + messages + " messages) into "
+                + html.toAbsolutePath());
+
+        List<Path> timings = list(shardDir, "timings-", ".properties");
+        if (!timings.isEmpty()) {
+            Path history = ScenarioTimings.historyFile();
+            Map<String, Long> merged = ScenarioTimings.load(history);
+            for (Path shard : timings) {
+                merged = ScenarioTimings.merge(merged, ScenarioTimings.load(shard));
+            }
+            ScenarioTimings.save(history, merged);
+            System.out.println("Updated scenario timings in " + history.toAbsolutePath());
+        }
+    }
+
+    // =========================
+    // Report merging
+    // =========================
+
+    /**
+     * Re-emits every shard's messages as one run: one meta and test-run-started (the earliest),
+     * sources/documents once per feature, the pickles each shard ran with their test cases and results,
+     * then one test-run-finished that only succeeds if every shard did.
+     * Every shard parsed its features with its own random ids, so a shard's pickles are re-pointed from its
+     * copy of a document to the one that is kept ({@link #alignDocuments(List, Map)}).
+     */
+    static int writeHtml(List<Path> reports, Path html) {
+        List<Map<String, Object>> all = new ArrayList<>();
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        for (Path report : reports) {
+            all.addAll(alignDocuments(read(report), documents));
+        }
+
+        Map<String, Object> meta = null;
+        Map<String, Object> runStarted = null;
+        List<Map<String, Object>> runsFinished = new ArrayList<>();
+        Set<Object> executedPickles = new HashSet<>();
+        for (Map<String, Object> envelope : all) {
+            Map<String, Object> testCase = body(envelope, "testCase");
+            if (testCase != null) executedPickles.add(testCase.get("pickleId"));
+            if (meta == null && envelope.containsKey("meta")) meta = envelope;
+            Map<String, Object> started = body(envelope, "testRunStarted");
+            if (started != null && (runStarted == null
+                    || compareTimestamps(started, body(runStarted, "testRunStarted")) < 0)) {
+                runStarted = envelope;
+            }
+            Map<String, Object> finished = body(envelope, "testRunFinished");
+            if (finished != null) runsFinished.add(finished);
+        }
+        String runId = runStarted == null ? null : (String) body(runStarted, "testRunStarted").get("id");
+
+        List<Map<String, Object>> out = new ArrayList<>();
+        if (meta != null) out.add(meta);
+        if (runStarted != null) out.add(runStarted);
+        Set<String> seenSources = new HashSet<>();
+        for (Map<String, Object> envelope : all) {
+            String type = envelope.keySet().iterator().next();
+            if (type.equals("meta") || type.equals("testRunStarted") || type.equals("testRunFinished")) continue;
+            Map<String, Object> message = body(envelope, type);
+            if (type.equals("source") && !seenSources.add((String) message.get("uri"))) continue;
+            // every shard parses whole feature files; keep only the pickles that shard actually ran
+            if (type.equals("pickle") && !executedPickles.contains(message.get("id"))) continue;
+            if (runId != null && message.containsKey("testRunStartedId")) {
+                message.put("testRunStartedId", runId); // point every shard's test cases at the merged run
+            }
+            out.add(envelope);
+        }
+        if (!runsFinished.isEmpty()) out.add(Map.of("testRunFinished", mergeFinished(runsFinished, runId)));
+
+        write(out, html);
+        return out.size();
+    }
+
+    /**
+     * Drops the shard's copy of every document already kept from an earlier shard and rewrites the AST ids its
+     * pickles refer to (scenario, step, row, tag) to the kept copy's ids. A document whose content differs from
+     * the kept one (the file changed between shards) stays in the report with its own ids.
+     */
+    private static List<Map<String, Object>> alignDocuments(List<Map<String, Object>> shard,
+                                                            Map<String, Map<String, Object>> documents) {
+        Map<String, String> ids = new HashMap<>();
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Map<String, Object> envelope : shard) {
+            Map<String, Object> document = body(envelope, "gherkinDocument");
+            if (document != null) {
+                Map<String, Object> kept = documents.putIfAbsent((String) document.get("uri"), document);
+                Map<String, String> documentIds = new HashMap<>();
+                if (kept != null && alignIds(document, kept, documentIds)) {
+                    ids.putAll(documentIds);
+                    continue;
+                }
+                if (kept != null) {
+                    System.err.println("Feature " + document.get("uri") + " differs between shards; reported twice");
+                }
+            }
+            out.add(envelope);
+        }
+        if (ids.isEmpty()) return out;
+
+        for (Map<String, Object> envelope : out) {
+            Map<String, Object> pickle = body(envelope, "pickle");
+            if (pickle == null) continue;
+            remap(pickle, "astNodeIds", ids);
+            for (Map<String, Object> step : children(pickle, "steps")) remap(step, "astNodeIds", ids);
+            for (Map<String, Object> tag : children(pickle, "tags")) {
+                tag.computeIfPresent("astNodeId", (k, id) -> ids.getOrDefault(id, (String) id));
+            }
+        }
+        return out;
+    }
+
+    /** Walks two parses of the same file side by side, collecting shard id -> kept id; false if they differ. */
+    private static boolean alignIds(Object shard, Object kept, Map<String, String> ids) {
+        if (shard instanceof Map && kept instanceof Map) {
+            Map<?, ?> a = (Map<?, ?>) shard;
+            Map<?, ?> b = (Map<?, ?>) kept;
+            if (!a.keySet().equals(b.keySet())) return false;
+            for (Object key : a.keySet()) {
+                if ("id".equals(key)) {
+                    ids.put((String) a.get(key), (String) b.get(key));
+                } else if (!alignIds(a.get(key), b.get(key), ids)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (shard instanceof List && kept instanceof List) {
+            List<?> a = (List<?>) shard;
+            List<?> b = (List<?>) kept;
+            if (a.size() != b.size()) return false;
+            for (int i = 0; i < a.size(); i++) {
+                if (!alignIds(a.get(i), b.get(i), ids)) return false;
+            }
+            return true;
+        }
+        return Objects.equals(shard, kept);
+    }
+
+    private static void remap(Map<String, Object> message, String field, Map<String, String> ids) {
+        Object value = message.get(field);
+        if (!(value instanceof List)) return;
+        List<Object> mapped = new ArrayList<>();
+        for (Object id : (List<?>) value) mapped.add(ids.getOrDefault(id, (String) id));
+        message.put(field, mapped);
+    }
+
+    private static Map<String, Object> mergeFinished(List<Map<String, Object>> finished, String runId) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        boolean success = true;
+        Map<String, Object> latest = null;
+        for (Map<String, Object> f : finished) {
+            success &= Boolean.TRUE.equals(f.get("success"));
+            if (latest == null || compareTimestamps(f, latest) > 0) latest = f;
+            if (!merged.containsKey("exception") && f.get("exception") != null) merged.put("exception", f.get("exception"));
+            if (!merged.containsKey("message") && f.get("message") != null) merged.put("message", f.get("message"));
+        }
+        merged.put("success", success);
+        merged.put("timestamp", latest.get("timestamp"));
+        if (runId != null) merged.put("testRunStartedId", runId);
+        return merged;
+    }
+
+    private static void write(List<Map<String, Object>> envelopes, Path html) {
+        try {
+            if (html.getParent() != null) Files.createDirectories(html.getParent());
+            try (OutputStream stream = Files.newOutputStream(html);
+                 MessagesToHtmlWriter writer = MessagesToHtmlWriter.builder(MAPPER::writeValue).build(stream)) {
+                for (Map<String, Object> envelope : envelopes) {
+                    writer.write(MAPPER.convertValue(envelope, Envelope.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + html, e);
+        }
+    }
+
+    // =========================
+    // Internals
+    // =========================
+
+    private static List<Map<String, Object>> read(Path report) {
+        try (Stream<String> lines = Files.lines(report, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank())
+                    .map(ShardReports::parse)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + report, e);
+        }
+    }
+
+    private static Map<String, Object> parse(String line) {
+        try {
+            return MAPPER.readValue(line, MAP);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed message: " + line, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> children(Map<String, Object> message, String field) {
+        Object value = message.get(field);
+        return value instanceof List ? (List<Map<String, Object>>) value : List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(Map<String, Object> envelope, String type) {
+        return (Map<String, Object>) envelope.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareTimestamps(Map<String, Object> a, Map<String, Object> b) {
+        Map<String, Object> ta = (Map<String, Object>) a.get("timestamp");
+        Map<String, Object> tb = (Map<String, Object>) b.get("timestamp");
+        int bySeconds = Long.compare(number(ta, "seconds"), number(tb, "seconds"));
+        return bySeconds != 0 ? bySeconds : Long.compare(number(ta, "nanos"), number(tb, "nanos"));
+    }
+
+    private static long number(Map<String, Object> timestamp, String field) {
+        Object value = timestamp == null ? null : timestamp.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    private static List<Path> list(Path dir, String prefix, String suffix) {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + dir, e);
+        }
+    }
+
+    /** Constructor parameter names from the class file, which is what the messages' creators are bound by. */
+    private static final class ParameterNames extends JacksonAnnotationIntrospector {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String findImplicitPropertyName(AnnotatedMember member) {
+            if (member instanceof AnnotatedParameter
+                    && ((AnnotatedParameter) member).getOwner() instanceof AnnotatedConstructor) {
+                AnnotatedParameter param = (AnnotatedParameter) member;
+                Parameter p = ((AnnotatedConstructor) param.getOwner()).getAnnotated().getParameters()[param.getIndex()];
+                if (p.isNamePresent()) return p.getName();
+            }
+            return super.findImplicitPropertyName(member);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Runner;
+
+import io.cucumber.junit.Cucumber;
+import io.cucumber.junit.CucumberOptions;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
+import utils.Config;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Drop-in replacement for {@code @RunWith(Cucumber.class)} that can run one shard of the suite.
+ * With -Dshard.count=N -Dshard.index=i (0-based) it plans the shards ({@link ShardPlan}), points Cucumber at
+ * this shard's scenarios via cucumber.features and adds a per-shard message report
+ * (target/shards/shard-i-of-N.ndjson); merge those with {@link ShardReports}.
+ * Without shard.count (or with 1) it behaves exactly like the plain Cucumber runner.
+ * <p>
+ * Extends ParentRunner only so surefire's parallel computer hands its scheduler over; everything else
+ * is delegated to the wrapped Cucumber runner.
+ */
+public final class ShardedCucumber extends ParentRunner<ParentRunner<?>> {
+
+    public static final Path SHARD_DIR = Path.of("target", "shards");
+
+    /** Name filter that matches nothing, for shards left empty (more shards than scenarios). */
+    private static final String MATCH_NOTHING = "(?!)";
+
+    private final Cucumber delegate;
+
+    public ShardedCucumber(Class<?> testClass) throws InitializationError {
+        super(testClass);
+        configureShard(testClass);
+        this.delegate = new Cucumber(testClass);
+    }
+
+    // =========================
+    // Shard selection
+    // =========================
+
+    private static void configureShard(Class<?> testClass) {
+        int count = Config.get().getShardCount();
+        if (count <= 1) return;
+        int index = Config.get().getShardIndex();
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + count + ") but was " + index);
+        }
+
+        Map<String, Long> timings = ScenarioTimings.load(ScenarioTimings.historyFile());
+        List<String> scenarios = ShardPlan.scenarios(featureRoots(testClass), System.getProperty("cucumber.filter.tags"));
+        List<String> shard = ShardPlan.balance(scenarios, timings, count).get(index);
+
+        if (shard.isEmpty()) {
+            System.setProperty("cucumber.filter.name", MATCH_NOTHING);
+        } else {
+            System.setProperty("cucumber.features", ShardPlan.toFeaturesOption(shard));
+        }
+        String report = "message:" + SHARD_DIR.resolve("shard-" + index + "-of-" + count + ".ndjson");
+        String plugins = System.getProperty("cucumber.plugin");
+        System.setProperty("cucumber.plugin", plugins == null || plugins.isBlank() ? report : plugins + "," + report);
+
+        System.out.println(String.format(Locale.ROOT, "Shard %d/%d: %d of %d scenarios, ~%.1f s expected%s",
+                index + 1, count, shard.size(), scenarios.size(),
+                ShardPlan.estimate(shard, timings) / 1000d,
+                timings.isEmpty() ? " (no timing history, balanced by count)" : ""));
+    }
+
+    /** Feature roots from cucumber.features (without line filters) or the runner's @CucumberOptions. */
+    private static List<Path> featureRoots(Class<?> testClass) {
+        String property = System.getProperty("cucumber.features");
+        if (property != null && !property.isBlank()) {
+            return Arrays.stream(property.split(","))
+                    .map(String::trim)
+                    .map(Path::of)
+                    .collect(Collectors.toList());
+        }
+        CucumberOptions options = testClass.getAnnotation(CucumberOptions.class);
+        String[] features = options == null || options.features().length == 0
+                ? new String[]{"src/test/resources"}
+                : options.features();
+        return Arrays.stream(features).map(Path::of).collect(Collectors.toList());
+    }
+
+    // =========================
+    // Delegation
+    // =========================
+
+    @Override
+    protected List<ParentRunner<?>> getChildren() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Description describeChild(ParentRunner<?> child) {
+        return child.getDescription();
+    }
+
+    @Override
+    protected void runChild(ParentRunner<?> child, RunNotifier notifier) {
+        child.run(notifier);
+    }
+
+    @Override
+    public Description getDescription() {
+        return delegate.getDescription();
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        delegate.run(notifier);
+    }
+
+    @Override
+    public void setScheduler(RunnerScheduler scheduler) {
+        delegate.setScheduler(scheduler);
+    }
+
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        delegate.filter(filter);
+    }
+
+    @Override
+    public void sort(Sorter sorter) {
+        delegate.sort(sorter);
+    }
+}
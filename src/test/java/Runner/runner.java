@@ -1,15 +1,19 @@
 package Runner;
 
 import org.junit.runner.RunWith;
-import io.cucumber.junit.Cucumber;
 import io.cucumber.junit.CucumberOptions;
 
-
-@RunWith(Cucumber.class)
+/**
+ * Cucumber entry point. Scenarios run serially by default;
+ * run with the Maven "parallel" profile to execute them concurrently (one browser per worker thread).
+ * Add -Dshard.count=N -Dshard.index=i to run only one timing-balanced shard (see {@link ShardedCucumber}).
+ */
+@RunWith(ShardedCucumber.class)
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"stepdefinitions", "hooks"},
-        plugin = {"pretty", "html:target/cucumber-report.html"},
+        plugin = {"pretty", "html:target/cucumber-report.html", "hooks.MetricsPlugin:target/metrics",
+                "hooks.ScenarioTimingsPlugin"},
         monochrome = true
         //tags = "@smoke" // optional: change or remove
 )
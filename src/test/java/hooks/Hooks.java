@@ -1,21 +1,114 @@
 package hooks;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import utils.AdaptiveTimeouts;
+import utils.ArtifactWriter;
+import utils.BrowserProfile;
+import utils.Config;
 import utils.Driver;
+import utils.FixtureCache;
+import utils.LocalStorefront;
+
+import java.nio.file.Path;
 
 /**
- * Hooks to initialize and quit the driver.
+ * Hooks to lease a pooled driver per scenario, hand it back afterwards and capture diagnostics on failure.
  */
 public class Hooks {
 
+    private static final String INVALIDATE_TAG = "@invalidate:";
+
+    /** Cucumber creates Hooks per scenario, so this marks the scenario's first failing step. */
+    private boolean artifactsCaptured;
+
+    /** store.mode=local serves the storefront from the in-process stub instead of demoblaze.com. */
+    @BeforeAll
+    public static void startStorefront() {
+        if (Config.get().isStoreLocal()) {
+            LocalStorefront.start();
+        }
+    }
+
+    /** grid.url=local runs every session through an in-process Selenium Grid instead of a local ChromeDriver. */
+    @BeforeAll
+    public static void startGrid() {
+        if ("local".equalsIgnoreCase(Config.get().getGridUrl())) {
+            Config.override("grid.url", LocalGrid.start());
+        }
+    }
+
+    @AfterAll
+    public static void stopStorefront() {
+        LocalStorefront.stop();
+    }
+
+    @AfterAll
+    public static void stopGrid() {
+        LocalGrid.stop();
+    }
+
+    @AfterAll
+    public static void flushArtifacts() {
+        if (!ArtifactWriter.flush(Config.get().getArtifactsFlushTimeout())) {
+            System.err.println("Some failure artifacts were still being written at shutdown");
+        }
+    }
+
+    /** Persist this run's wait durations so the next run's waits are budgeted from them. */
+    @AfterAll
+    public static void saveAdaptiveTimeouts() {
+        AdaptiveTimeouts.save();
+    }
+
+    /** Scenarios that check animations or imagery need a full, unblocked browser (runs before setUp). */
+    @Before(value = "@visual", order = 0)
+    public void useVisualProfile() {
+        Driver.useProfile(BrowserProfile.VISUAL);
+    }
+
+    /** {@code @invalidate:<key>} on a scenario drops that cached fixture (and its dependents) before it runs. */
+    @Before(order = 0)
+    public void invalidateFixtures(Scenario scenario) {
+        for (String tag : scenario.getSourceTagNames()) {
+            if (tag.startsWith(INVALIDATE_TAG)) {
+                FixtureCache.invalidate(tag.substring(INVALIDATE_TAG.length()));
+            }
+        }
+    }
+
     @Before
     public void setUp() {
         Driver.getDriver();// initialize browser
     }
 
+    /**
+     * On the first failing step, grab screenshot/DOM/console from the browser and attach the screenshot;
+     * compressing and writing the zip happens on the artifact writer's thread.
+     */
+    @AfterStep
+    public void captureFailure(Scenario scenario) {
+        WebDriver driver = Driver.currentDriver();
+        if (!scenario.isFailed() || artifactsCaptured || driver == null) return;
+        artifactsCaptured = true;
+
+        ArtifactWriter.Artifact artifact = ArtifactWriter.capture(driver, scenario.getName());
+        if (artifact.getScreenshot() != null) {
+            scenario.attach(artifact.getScreenshot(), "image/png", "failure screenshot");
+        }
+        Path zip = ArtifactWriter.submit(artifact);
+        if (zip != null) {
+            scenario.attach(zip.toAbsolutePath().toUri().toString(), "text/uri-list", "failure artifacts");
+        }
+    }
+
     @After
     public void tearDown() {
-        Driver.quitDriver();
+        Driver.releaseDriver();
     }
 }
@@ -0,0 +1,67 @@
+package hooks;
+
+import org.openqa.selenium.grid.commands.Standalone;
+import org.openqa.selenium.grid.config.MapConfig;
+import org.openqa.selenium.grid.server.Server;
+import utils.Config;
+import utils.DriverBinaries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+
+/**
+ * Selenium Grid standalone server (router + distributor + one node) running inside the test JVM,
+ * so remote-driver runs and session scaling can be exercised without Docker or an external hub.
+ * Used when grid.url=local; the node detects the local Chrome/ChromeDriver and accepts
+ * grid.maxSessions concurrent sessions (default max(4, cores)). grid.localPort picks the port (default: free port).
+ */
+public final class LocalGrid {
+
+    private static Server<?> server;
+
+    private LocalGrid() { /* utility class */ }
+
+    /** Start the in-process Grid (idempotent) and return its URL. */
+    public static synchronized String start() {
+        if (server == null) {
+            // exports webdriver.chrome.driver for the node's driver detection; if nothing is found the node
+            // falls back to Selenium Manager / a chromedriver on the PATH
+            DriverBinaries.chromedriver();
+            int maxSessions = Config.get().getGridMaxSessions();
+            int port = Config.get().getGridLocalPort();
+            MapConfig config = new MapConfig(Map.of(
+                    "server", Map.of(
+                            "host", "127.0.0.1",
+                            "port", port != 0 ? port : freePort()),
+                    "node", Map.of(
+                            "detect-drivers", true,
+                            "max-sessions", maxSessions,
+                            "override-max-sessions", true)));
+            server = new Standalone().asServer(config).start();
+            System.out.println("Local Selenium Grid at " + server.getUrl() + " (" + maxSessions + " sessions)");
+        }
+        return server.getUrl().toString();
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port for the local Grid", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hooks;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import utils.Config;
+import utils.Metrics;
+
+import java.nio.file.Path;
+
+/**
+ * Cucumber plugin that times every step, hook and scenario into {@link Metrics} and, at the end of the run,
+ * writes metrics.json / metrics.csv (WebDriver commands, waits, steps) and prints the slowest steps.
+ * Register as {@code hooks.MetricsPlugin:<output dir>}; metrics.topN sets the summary length (default 10).
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+
+    private final Path outputDir;
+
+    public MetricsPlugin() {
+        this("target/metrics");
+    }
+
+    public MetricsPlugin(String outputDir) {
+        this.outputDir = Path.of(outputDir);
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            Metrics.record("step." + step.getStep().getText(), nanos);
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            Metrics.record("hook." + event.getTestStep().getCodeLocation(), nanos);
+        }
+    }
+
+    private void onCaseFinished(TestCaseFinished event) {
+        Metrics.record("scenario." + event.getTestCase().getName(), event.getResult().getDuration().toNanos());
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        String summary = Metrics.writeReport(outputDir, "step.", Config.get().getMetricsTopN());
+        System.out.println();
+        System.out.println(summary);
+        System.out.println("Metrics written to " + outputDir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,51 @@
+package hooks;
+
+import Runner.ScenarioTimings;
+import Runner.ShardedCucumber;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import utils.Config;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that records how long each scenario took, for shard balancing.
+ * In a normal run the durations are folded straight into the history file ({@link ScenarioTimings#historyFile()}).
+ * In a sharded run (-Dshard.count > 1) each shard only writes its own measurements to
+ * target/shards/timings-i-of-N.properties; {@code Runner.ShardReports} folds them in after all shards finish,
+ * so shards on different machines never race on the history.
+ */
+public class ScenarioTimingsPlugin implements ConcurrentEventListener {
+
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onRunFinished);
+    }
+
+    private void onCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        durations.put(ScenarioTimings.key(testCase.getUri(), testCase.getLocation().getLine()),
+                event.getResult().getDuration().toMillis());
+    }
+
+    private void onRunFinished(TestRunFinished event) {
+        if (durations.isEmpty()) return;
+        int count = Config.get().getShardCount();
+        if (count > 1) {
+            int index = Config.get().getShardIndex();
+            ScenarioTimings.save(ShardedCucumber.SHARD_DIR.resolve("timings-" + index + "-of-" + count + ".properties"),
+                    durations);
+        } else {
+            Path history = ScenarioTimings.historyFile();
+            ScenarioTimings.save(history, ScenarioTimings.merge(ScenarioTimings.load(history), durations));
+        }
+    }
+}
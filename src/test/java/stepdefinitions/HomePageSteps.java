@@ -6,22 +6,25 @@ import org.junit.Assert;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.CarouselSlide;
 import pages.HomePage;
+import utils.Config;
 import utils.Driver;
+import utils.Expect;
 import utils.Helpers;
 
-import java.time.Duration;
 import java.util.List;
 
 public class HomePageSteps {
 
+    private final Config config = Config.get();
     private HomePage homePage;
     private Helpers helpers;
 
     // For carousel
-    private String firstCarouselImageSrc;
-    private String imageAfterPrevClick;
-    private String imageAfterNextClick;
+    private int firstCarouselIndex;
+    private CarouselSlide slideAfterPrevClick;
+    private CarouselSlide slideAfterNextClick;
 
     // For pagination
     private List<String> firstPageProducts;
@@ -34,8 +37,8 @@ public class HomePageSteps {
 
     @Given("I am on the Product Store home page")
     public void i_am_on_the_Product_Store_home_page() {
-        homePage = new HomePage();
-        helpers = new Helpers(Driver.getDriver(), 10L);
+        homePage = new HomePage(config);
+        helpers = new Helpers(Driver.getDriver(), config);
         homePage.open();
     }
 
@@ -86,49 +89,44 @@ public class HomePageSteps {
     public void i_should_see_the_Login_popup() {
         Assert.assertTrue(
                 "Login modal must be present",
-                helpers.elementExists(By.id("logInModal"))
+                helpers.elementExists(By.id("logInModal"), Expect.PRESENT)
         );
     }
 
     // Carousel
 
     @When("I view the Moving carousel")
-    public void i_view_the_Moving_carousel() throws InterruptedException {
+    public void i_view_the_Moving_carousel() {
         homePage.waitForCarouselVisible();
-        Thread.sleep(1000); // small wait so carousel can auto-move
-        firstCarouselImageSrc = homePage.getActiveCarouselImageSrc();
+        firstCarouselIndex = homePage.getSettledCarouselIndex();
     }
 
     @When("I click on Previous icon")
-    public void i_click_on_Previous_icon() throws InterruptedException {
-        homePage.clickCarouselPrevious();
-        Thread.sleep(1500);
-        imageAfterPrevClick = homePage.getActiveCarouselImageSrc();
+    public void i_click_on_Previous_icon() {
+        // returns when the transition started by this click has finished; auto-advance is not mistaken for it
+        slideAfterPrevClick = homePage.clickCarouselPreviousAndAwait();
     }
 
     @When("I should see the carousel is moving previous image")
     public void i_should_see_the_carousel_is_moving_previous_image() {
-        Assert.assertNotEquals(
-                "Image after clicking Previous should be different from initial image",
-                firstCarouselImageSrc,
-                imageAfterPrevClick
-        );
+        if (!slideAfterPrevClick.isToPrevious()) {
+            Assert.fail("Clicking Previous should slide to the previous image: " + slideAfterPrevClick
+                    + " (carousel was on slide " + firstCarouselIndex + " when first viewed; slides since: "
+                    + homePage.getCarouselHistory() + ")");
+        }
     }
 
     @When("I click on Next icon")
-    public void i_click_on_Next_icon() throws InterruptedException {
-        homePage.clickCarouselNext();
-        Thread.sleep(1500);
-        imageAfterNextClick = homePage.getActiveCarouselImageSrc();
+    public void i_click_on_Next_icon() {
+        slideAfterNextClick = homePage.clickCarouselNextAndAwait();
     }
 
     @Then("I should see the carousel is moving Next image")
     public void i_should_see_the_carousel_is_moving_Next_image() {
-        Assert.assertNotEquals(
-                "Image after clicking Next should be different from image after Previous",
-                imageAfterPrevClick,
-                imageAfterNextClick
-        );
+        if (!slideAfterNextClick.isToNext()) {
+            Assert.fail("Clicking Next should slide to the next image: " + slideAfterNextClick
+                    + " (slides since first viewed: " + homePage.getCarouselHistory() + ")");
+        }
     }
 
     // Categories using List<String>
@@ -223,7 +221,7 @@ public class HomePageSteps {
     @Then("I Should view the Alert {string}")
     public void i_should_view_the_alert(String expectedText, DataTable dataTable) {
         WebDriver driver = Driver.getDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        WebDriverWait wait = new WebDriverWait(driver, config.getAlertTimeout());
 
         Alert alert = wait.until(ExpectedConditions.alertIsPresent());
         String actualText = alert.getText();
@@ -1,23 +1,58 @@
 package stepdefinitions;
 
 import io.cucumber.java.en.And;
+import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import org.junit.Assert;
+import pages.HomePage;
+import pages.LoginOutcome;
 import pages.LoginPage;
+import utils.Config;
+import utils.Driver;
+import utils.Expect;
+import utils.SessionCache;
 
 public class LoginSteps {
 
+    private final Config config = Config.get();
     private LoginPage loginPage;
     private String lastLoginAlert;
+    private String lastWelcome;
     private String lastSignupAlert;
     private String lastUsername;
     private String lastPassword;
 
     private LoginPage page() {
-        if (loginPage == null) loginPage = new LoginPage();
+        if (loginPage == null) loginPage = new LoginPage(config);
         return loginPage;
     }
 
+    /**
+     * Logged-in precondition for scenarios that are not about login itself:
+     * reuses the run's cached API token instead of driving the login modal.
+     */
+    @Given("I am logged in as {string} with password {string}")
+    public void i_am_logged_in_as(String username, String password) {
+        SessionCache.authenticate(Driver.getDriver(), username, password);
+        new HomePage(config).open();
+
+        String welcome = page().getWelcomeTextIfVisible();
+        if (welcome == null) {
+            // token may have been revoked server-side; log in once more and retry
+            SessionCache.invalidate(username);
+            SessionCache.authenticate(Driver.getDriver(), username, password);
+            new HomePage(config).open();
+            welcome = page().getWelcomeTextIfVisible();
+        }
+        Assert.assertNotNull("Session injection did not log in " + username, welcome);
+
+        // lets the welcome-message check run after an injected login as it does after the modal
+        lastUsername = username;
+        lastPassword = password;
+        lastLoginAlert = null;
+        lastWelcome = welcome;
+    }
+
     @And("User enters username {string} and password {string}")
     public void user_enters_username_and_password(String username, String password) {
         this.lastUsername = username;
@@ -25,8 +60,10 @@ public class LoginSteps {
 
         page().login(username, password);
 
-        // capture/login alert (if any)
-        lastLoginAlert = page().readAndAcceptAlert(2L);
+        // capture/login alert (if any): returns on the alert, the welcome text or the modal closing, whichever is first
+        LoginOutcome outcome = page().awaitLoginOutcome();
+        lastLoginAlert = outcome.getAlertText();
+        lastWelcome = outcome.getWelcomeText();
         if (lastLoginAlert != null) {
             System.out.println("Login alert: " + lastLoginAlert);
         } else {
@@ -44,13 +81,15 @@ public class LoginSteps {
             Assert.assertTrue("Alert text did not indicate missing fields",
                     lastLoginAlert.toLowerCase().contains("please fill")
                             || lastLoginAlert.toLowerCase().contains("fill out"));
+            // expected to be logged out: confirm it once the page settles instead of waiting out the timeout
+            Assert.assertFalse("Logged in despite missing credentials", page().isLoggedIn(Expect.ABSENT));
             System.out.println("✔ Correct alert shown for missing credentials: " + lastLoginAlert);
             return;
         }
 
         Assert.assertNull("Unexpected alert shown for valid credentials: " + lastLoginAlert, lastLoginAlert);
 
-        String welcome = page().getWelcomeTextIfVisible();
+        String welcome = lastWelcome != null ? lastWelcome : page().getWelcomeTextIfVisible();
         Assert.assertNotNull("Welcome message not visible", welcome);
         Assert.assertFalse("Welcome message is blank", welcome.isBlank());
 
@@ -74,7 +113,7 @@ public class LoginSteps {
 
         page().signup(u, p);
 
-        lastSignupAlert = page().readAndAcceptAlert(2L);
+        lastSignupAlert = page().awaitSignupOutcome().getAlertText();
 
         if (lastSignupAlert != null) {
             System.out.println("Signup alert: " + lastSignupAlert);
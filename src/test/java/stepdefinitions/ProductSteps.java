@@ -5,94 +5,48 @@ import io.cucumber.java.en.And;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import org.junit.Assert;
-import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import utils.Driver;
-import utils.Helpers;
+import pages.HomePage;
 import pages.Product;
+import utils.Config;
+import utils.FixtureCache;
+import utils.StoreApi;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class ProductSteps {
 
-    private final WebDriver driver = Driver.getDriver();
-    private final Helpers helper = new Helpers(driver);
+    /**
+     * verify.mode=api checks the product tables against the storefront's JSON catalog (/bycat) instead of
+     * the grid; the page then only has to show that same list, checked with one bulk read.
+     */
+    private final Config config = Config.get();
 
-    private By categoryLink(String category) {
-        return By.xpath("//a[normalize-space()='" + category + "']");
-    }
+    // Cucumber creates a new instance per scenario on the scenario's own thread,
+    // so the page (and its driver) is resolved lazily from that thread instead of at construction.
+    private HomePage homePage;
 
-    private final By productNameLoc = By.cssSelector(".col-lg-9 h4");
-    private final By productPriceLoc = By.cssSelector(".col-lg-9 h5");
+    private HomePage homePage() {
+        if (homePage == null) homePage = new HomePage(config);
+        return homePage;
+    }
 
     private List<Product> actualProducts = new ArrayList<>();
+    private String category;
+    private CompletableFuture<List<Product>> apiCatalog;
 
     @When("I click on the {string} category")
     public void i_click_on_the_category(String category) {
-        helper.waitAndClick(categoryLink(category));
-        helper.waitForPageLoad();
-
-        // Capture first visible product text BEFORE waiting
-        String beforeFirst = "";
-        try {
-            // find first visible name safely (refetch element before check)
-            List<WebElement> namesBefore = driver.findElements(productNameLoc);
-            for (int i = 0; i < namesBefore.size(); i++) {
-                try {
-                    WebElement e = driver.findElements(productNameLoc).get(i); // refetch
-                    if (helper.isDisplayed(e)) {
-                        beforeFirst = helper.waitAndGetText(e).trim();
-                        break;
-                    }
-                } catch (StaleElementReferenceException ignored) {
-                    // try next index (or next loop iteration which will refetch)
-                }
-            }
-        } catch (Exception ignored) {}
-
-        final String originalFirst = beforeFirst;
-
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(8));
-        wait.until((ExpectedCondition<Boolean>) wd -> {
-            try {
-                // find the first visible name at this moment (refetch)
-                List<WebElement> nowList = driver.findElements(productNameLoc);
-                String nowFirst = "";
-
-                for (int i = 0; i < nowList.size(); i++) {
-                    try {
-                        WebElement e = driver.findElements(productNameLoc).get(i); // refetch by index
-                        if (helper.isDisplayed(e)) {
-                            nowFirst = helper.waitAndGetText(e).trim();
-                            break;
-                        }
-                    } catch (StaleElementReferenceException ex) {
-                        // dom changed while checking; treat as changed => success
-                        return true;
-                    }
-                }
-
-                // if previously empty and now non-empty => success
-                if (originalFirst.isEmpty() && !nowFirst.isEmpty()) {
-                    return true;
-                }
-
-                // otherwise success only if first item changed
-                return !nowFirst.equals(originalFirst);
-            } catch (StaleElementReferenceException | NoSuchElementException e) {
-                // DOM changed while evaluating -> consider as changed (success)
-                return true;
-            } catch (Exception e) {
-                // any other exception -> treat as success to avoid blocking tests
-                return true;
-            }
-        });
-
-        helper.waitForPageLoad();
+        if (config.isVerifyViaApi()) {
+            // in flight while the browser clicks and re-renders
+            apiCatalog = StoreApi.catalog(category).thenApply(ProductSteps::toProducts);
+        }
+        // returns once the /bycat response is in and the grid has re-rendered
+        homePage().clickCategoryByName(category);
+        this.category = category;
     }
 
     @Then("I should see the following products exactly:")
@@ -104,8 +58,8 @@ public class ProductSteps {
             expected.add(new Product(row.get("Product"), row.get("Price")));
         }
 
-        // read actual products from page (fresh)
-        actualProducts = readProductsFresh();
+        // the category's products from the API, or as the page shows them now: this is the UI check, never cached
+        actualProducts = config.isVerifyViaApi() ? apiCatalog() : readProductsFresh();
 
         // debug print when counts don't match
         if (expected.size() != actualProducts.size()) {
@@ -125,13 +79,20 @@ public class ProductSteps {
             Assert.assertEquals("Price mismatch at index " + i, exp.getPrice(), act.getPrice());
         }
 
+        if (config.isVerifyViaApi()) {
+            Assert.assertEquals("Page does not render the API catalog", actualProducts, readProductsFresh());
+        }
+
+        if (!config.isVerifyViaApi()) {
+            FixtureCache.put(catalogKey(), List.of(FixtureCache.STOREFRONT), List.copyOf(actualProducts));
+        }
         System.out.println("PRODUCTS MATCH EXACTLY");
     }
 
     @And("I successfully view the product name and product price")
     public void i_successfully_view_the_product_name_and_product_price() {
         if (actualProducts == null || actualProducts.isEmpty()) {
-            actualProducts = readProductsFresh();
+            actualProducts = category == null ? readProductsFresh() : config.isVerifyViaApi() ? apiCatalog() : catalog();
         }
 
         Assert.assertFalse("No products found!", actualProducts.isEmpty());
@@ -145,53 +106,41 @@ public class ProductSteps {
     }
 
     /**
-     * Read product name + price pairs but only for currently visible elements.
-     * For each index we re-find the element to avoid StaleElementReferenceException.
+     * Products of the selected category for read-only follow-up checks. The catalog does not change during a run,
+     * so a grid an exact-table check has already verified is reused ({@link FixtureCache}, dropped when the
+     * storefront under test changes); the grid is read only if no scenario has verified the category yet.
      */
-    private List<Product> readProductsFresh() {
-        List<Product> list = new ArrayList<>();
-
-        // capture names safely (refetch per index)
-        List<String> names = new ArrayList<>();
-        int namesCount = driver.findElements(productNameLoc).size();
-        for (int i = 0; i < namesCount; i++) {
-            try {
-                WebElement e = driver.findElements(productNameLoc).get(i); // refetch
-                if (!helper.isDisplayed(e)) continue;
-                names.add(helper.waitAndGetText(e).trim());
-            } catch (StaleElementReferenceException e) {
-                // retry once
-                try {
-                    WebElement e2 = driver.findElements(productNameLoc).get(i);
-                    if (!helper.isDisplayed(e2)) continue;
-                    names.add(helper.waitAndGetText(e2).trim());
-                } catch (Exception ignored) {}
-            } catch (Exception ignored) {}
-        }
+    private List<Product> catalog() {
+        return FixtureCache.get(catalogKey(), List.of(FixtureCache.STOREFRONT),
+                () -> List.copyOf(readProductsFresh()));
+    }
+
+    private String catalogKey() {
+        return "catalog/" + category;
+    }
 
-        // capture prices safely (refetch per index)
-        List<String> prices = new ArrayList<>();
-        int pricesCount = driver.findElements(productPriceLoc).size();
-        for (int i = 0; i < pricesCount; i++) {
-            try {
-                WebElement e = driver.findElements(productPriceLoc).get(i); // refetch
-                if (!helper.isDisplayed(e)) continue;
-                prices.add(helper.waitAndGetText(e).trim());
-            } catch (StaleElementReferenceException e) {
-                // retry once
-                try {
-                    WebElement e2 = driver.findElements(productPriceLoc).get(i);
-                    if (!helper.isDisplayed(e2)) continue;
-                    prices.add(helper.waitAndGetText(e2).trim());
-                } catch (Exception ignored) {}
-            } catch (Exception ignored) {}
+    private List<Product> apiCatalog() {
+        Assert.assertNotNull("No category was selected", apiCatalog);
+        try {
+            return apiCatalog.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
         }
+    }
 
-        int count = Math.min(names.size(), prices.size());
-        for (int i = 0; i < count; i++) {
-            list.add(new Product(names.get(i), prices.get(i)));
+    private static List<Product> toProducts(List<Map<String, String>> items) {
+        List<Product> products = new ArrayList<>();
+        for (Map<String, String> item : items) {
+            products.add(new Product(item.get("title"), item.get("price")));
         }
+        return products;
+    }
 
-        return list;
+    /**
+     * Read product name + price pairs for the currently visible cards.
+     * Uses the page's single-script bulk read, so there is nothing to go stale between reads.
+     */
+    private List<Product> readProductsFresh() {
+        return homePage().readVisibleProducts();
     }
 }
@@ -15,6 +15,10 @@ Feature: Validating Login
       |          | test@123  |
       | pavanol  | test@123  |
 
+  Scenario: Returning user starts logged in
+    Given I am logged in as "pavanol" with password "test@123"
+    Then User should see the welcome message with their name
+
   Scenario Outline: Validating sign in
     When I click on the "Sign up" button
     And I Enter a username "<username>" and password "<password>" for signup
@@ -8,6 +8,7 @@ Feature: Home Page Listing
     And I click on main header buttons
     #Then I should see all header are redirected successfully
 
+  @visual
   Scenario: Validate a carousel
     Given I am on the Product Store home page
     When I view the Moving carousel